@@ -0,0 +1,54 @@
+package com.taskscheduler.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// gateway.circuit-breaker.*: one breaker per route (the CircuitBreaker filter's name), all sharing these thresholds
+@Component
+@ConfigurationProperties(prefix = "gateway.circuit-breaker")
+public class CircuitBreakerProperties {
+    private float failureRateThreshold = 50;
+    // Calls slower than this count as slow; the breaker also opens when slow-call-rate-threshold percent are slow
+    private long slowCallMs = 3000;
+    private float slowCallRateThreshold = 80;
+    private int windowSize = 50;
+    // No decision is made on fewer calls than this
+    private int minimumCalls = 20;
+    // How long the breaker stays open before letting half-open-calls probes through
+    private long openMs = 10000;
+    private int halfOpenCalls = 5;
+    // Time limit on a whole call by breaker name; keep it above the route's response-timeout plus retries
+    private Map<String, Long> timeoutMs = new HashMap<>();
+    private long defaultTimeoutMs = 10000;
+
+    // Getters and Setters
+    public float getFailureRateThreshold() { return failureRateThreshold; }
+    public void setFailureRateThreshold(float failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+    public long getSlowCallMs() { return slowCallMs; }
+    public void setSlowCallMs(long slowCallMs) { this.slowCallMs = slowCallMs; }
+
+    public float getSlowCallRateThreshold() { return slowCallRateThreshold; }
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+
+    public int getWindowSize() { return windowSize; }
+    public void setWindowSize(int windowSize) { this.windowSize = windowSize; }
+
+    public int getMinimumCalls() { return minimumCalls; }
+    public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+
+    public long getOpenMs() { return openMs; }
+    public void setOpenMs(long openMs) { this.openMs = openMs; }
+
+    public int getHalfOpenCalls() { return halfOpenCalls; }
+    public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+
+    public Map<String, Long> getTimeoutMs() { return timeoutMs; }
+    public void setTimeoutMs(Map<String, Long> timeoutMs) { this.timeoutMs = timeoutMs; }
+
+    public long getDefaultTimeoutMs() { return defaultTimeoutMs; }
+    public void setDefaultTimeoutMs(long defaultTimeoutMs) { this.defaultTimeoutMs = defaultTimeoutMs; }
+}
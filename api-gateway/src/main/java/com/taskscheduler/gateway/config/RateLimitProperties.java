@@ -0,0 +1,68 @@
+package com.taskscheduler.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// gateway.rate-limit.*: rules are matched in order and the first whose paths match the request applies
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Upper bound on buckets held in memory; the least recently used are dropped beyond it
+    private long maxKeys = 100_000;
+    // A bucket untouched this long is full again anyway, so it is dropped
+    private long idleSeconds = 600;
+    // Take the client IP from X-Forwarded-For instead of the connection; only safe behind proxies that append to it
+    private boolean trustForwardedFor = false;
+    // Reverse proxies in front of the gateway that each append the address they received from (nginx: 1)
+    private int trustedProxyHops = 1;
+    private List<Rule> rules = new ArrayList<>();
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(long maxKeys) { this.maxKeys = maxKeys; }
+
+    public long getIdleSeconds() { return idleSeconds; }
+    public void setIdleSeconds(long idleSeconds) { this.idleSeconds = idleSeconds; }
+
+    public boolean isTrustForwardedFor() { return trustForwardedFor; }
+    public void setTrustForwardedFor(boolean trustForwardedFor) { this.trustForwardedFor = trustForwardedFor; }
+
+    public int getTrustedProxyHops() { return trustedProxyHops; }
+    public void setTrustedProxyHops(int trustedProxyHops) { this.trustedProxyHops = trustedProxyHops; }
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+
+    public static class Rule {
+        private String id;
+        private List<String> paths = new ArrayList<>();
+        // Burst size
+        private int capacity;
+        private double refillPerSecond;
+        // Key by client IP even when the request carries a valid token (e.g. login)
+        private boolean perIp = false;
+
+        // Getters and Setters
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+
+        public boolean isPerIp() { return perIp; }
+        public void setPerIp(boolean perIp) { this.perIp = perIp; }
+    }
+}
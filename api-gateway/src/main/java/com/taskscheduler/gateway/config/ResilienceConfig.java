@@ -0,0 +1,41 @@
+package com.taskscheduler.gateway.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Breakers behind the routes' CircuitBreaker filters. State and call outcomes are exported through the actuator as
+// resilience4j.circuitbreaker.* metrics tagged with the breaker name.
+@Configuration
+public class ResilienceConfig {
+
+    @Autowired
+    private CircuitBreakerProperties properties;
+
+    @Bean
+    Customizer<ReactiveResilience4JCircuitBreakerFactory> routeCircuitBreakers() {
+        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                        .slidingWindowSize(properties.getWindowSize())
+                        .minimumNumberOfCalls(properties.getMinimumCalls())
+                        .failureRateThreshold(properties.getFailureRateThreshold())
+                        .slowCallDurationThreshold(Duration.ofMillis(properties.getSlowCallMs()))
+                        .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                        .waitDurationInOpenState(Duration.ofMillis(properties.getOpenMs()))
+                        .permittedNumberOfCallsInHalfOpenState(properties.getHalfOpenCalls())
+                        .build())
+                // The default limit is 1s, which would cut off ordinary slow responses
+                .timeLimiterConfig(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(properties.getTimeoutMs().getOrDefault(id, properties.getDefaultTimeoutMs())))
+                        .build())
+                .build());
+    }
+}
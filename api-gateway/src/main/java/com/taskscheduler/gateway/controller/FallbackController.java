@@ -0,0 +1,42 @@
+package com.taskscheduler.gateway.controller;
+
+import com.taskscheduler.gateway.config.CircuitBreakerProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+// Target of the routes' CircuitBreaker fallbackUri. Answers straight away while a breaker is open, and after a
+// failed call, in the same JSON shape as the gateway's other errors.
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @Autowired
+    private CircuitBreakerProperties properties;
+
+    @RequestMapping("/{service}")
+    public ResponseEntity<Map<String, Object>> fallback(ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        boolean timedOut = cause instanceof TimeoutException || (cause != null && cause.getCause() instanceof TimeoutException);
+        HttpStatus status = timedOut ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", timedOut
+                ? "The service took too long to respond, please retry"
+                : "The service is temporarily unavailable, please retry shortly");
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, properties.getOpenMs() / 1000)))
+                .body(body);
+    }
+}
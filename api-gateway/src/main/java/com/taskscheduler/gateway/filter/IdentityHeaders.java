@@ -0,0 +1,39 @@
+package com.taskscheduler.gateway.filter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+
+// Identity headers the gateway attaches after verifying a token. The signature covers every value, so a service in
+// gateway-trust mode can tell them apart from headers a client sent through another path (e.g. nginx directly).
+// task-service's GatewayIdentity checks the same format.
+public final class IdentityHeaders {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_EMAIL = "X-User-Email";
+    // URL-encoded UTF-8, since header values must be ASCII
+    public static final String USER_NAME = "X-User-Name";
+    // Token expiry in epoch seconds; the headers are not accepted after it
+    public static final String EXPIRES = "X-User-Expires";
+    public static final String SIGNATURE = "X-User-Signature";
+
+    public static final List<String> ALL = List.of(USER_ID, USER_EMAIL, USER_NAME, EXPIRES, SIGNATURE);
+
+    private IdentityHeaders() {
+    }
+
+    // HMAC-SHA256 over "id\nemail\nencodedName\nexpires", base64url without padding
+    public static String sign(byte[] secret, String userId, String email, String encodedName, String expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] digest = mac.doFinal(String.join("\n", userId, email, encodedName, expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
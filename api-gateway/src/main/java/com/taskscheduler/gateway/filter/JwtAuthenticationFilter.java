@@ -0,0 +1,137 @@
+package com.taskscheduler.gateway.filter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+// Verifies the bearer token once at the edge. Requests to protected paths without a valid token are answered 401
+// here; valid ones are forwarded with signed identity headers so downstream services can skip re-validation.
+// Identity headers sent by clients are always stripped.
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${gateway.auth.trust-secret}")
+    private String trustSecret;
+
+    @Value("${gateway.auth.protected-paths}")
+    private String protectedPaths;
+
+    private JwtParser parser;
+
+    private byte[] trustKey;
+
+    private List<PathPattern> protectedPatterns;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .build();
+        trustKey = trustSecret.getBytes(StandardCharsets.UTF_8);
+        protectedPatterns = Arrays.stream(protectedPaths.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        boolean required = request.getMethod() != HttpMethod.OPTIONS && isProtected(request);
+
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return required ? reject(exchange, "Missing bearer token") : chain.filter(stripped(exchange));
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(authHeader.substring(BEARER_PREFIX.length())).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return required ? reject(exchange, "Invalid token") : chain.filter(stripped(exchange));
+        }
+
+        String email = claims.getSubject();
+        Long userId = claims.get("userId", Long.class);
+        Date expiration = claims.getExpiration();
+        if (email == null || userId == null || expiration == null) {
+            return required ? reject(exchange, "Token is missing user claims") : chain.filter(stripped(exchange));
+        }
+        String name = claims.get("name", String.class);
+        if (name == null || name.isEmpty()) {
+            name = email.contains("@") ? email.split("@")[0] : email;
+        }
+
+        String id = userId.toString();
+        String encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8);
+        String expires = Long.toString(expiration.getTime() / 1000);
+        String signature = IdentityHeaders.sign(trustKey, id, email, encodedName, expires);
+        ServerHttpRequest forwarded = request.mutate().headers(headers -> {
+            IdentityHeaders.ALL.forEach(headers::remove);
+            headers.set(IdentityHeaders.USER_ID, id);
+            headers.set(IdentityHeaders.USER_EMAIL, email);
+            headers.set(IdentityHeaders.USER_NAME, encodedName);
+            headers.set(IdentityHeaders.EXPIRES, expires);
+            headers.set(IdentityHeaders.SIGNATURE, signature);
+        }).build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    // Before routing and the other gateway filters
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private boolean isProtected(ServerHttpRequest request) {
+        return protectedPatterns.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private ServerWebExchange stripped(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> IdentityHeaders.ALL.forEach(headers::remove))
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        String body = "{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"" + message + "\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
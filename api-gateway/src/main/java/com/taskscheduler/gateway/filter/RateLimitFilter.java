@@ -0,0 +1,181 @@
+package com.taskscheduler.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskscheduler.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process token buckets per (rule, user) or (rule, client IP); runs after JwtAuthenticationFilter so the user id
+// comes from a verified token. Requests over the limit get 429 with Retry-After and never reach a service.
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<CompiledRule> rules = new ArrayList<>();
+
+    private Cache<String, Bucket> buckets;
+
+    @PostConstruct
+    void init() {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getCapacity() <= 0 || rule.getRefillPerSecond() <= 0) {
+                log.warn("Ignoring rate limit rule {}: capacity and refill-per-second must be positive", rule.getId());
+                continue;
+            }
+            rules.add(new CompiledRule(rule, meterRegistry));
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleSeconds(), TimeUnit.SECONDS)
+                .build();
+        meterRegistry.gauge("gateway.rate-limit.buckets", buckets, cache -> cache.estimatedSize());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        CompiledRule rule = match(request);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String userId = request.getHeaders().getFirst(IdentityHeaders.USER_ID);
+        String key = rule.id + (rule.perIp || userId == null ? "|ip:" + clientIp(request) : "|u:" + userId);
+        long waitNanos = buckets.get(key, k -> new Bucket(rule.intervalNanos, rule.burstNanos)).tryAcquire(System.nanoTime());
+        if (waitNanos == 0) {
+            rule.allowed.increment();
+            return chain.filter(exchange);
+        }
+        rule.rejected.increment();
+        return reject(exchange, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+    }
+
+    // After JwtAuthenticationFilter, before routing
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    private CompiledRule match(ServerHttpRequest request) {
+        for (CompiledRule rule : rules) {
+            for (PathPattern pattern : rule.patterns) {
+                if (pattern.matches(request.getPath().pathWithinApplication())) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Each trusted proxy appends the address it received from, so the hops-th entry from the right is the client as
+    // the outermost proxy saw it; entries left of that were sent by the client and can be anything
+    private String clientIp(ServerHttpRequest request) {
+        int hops = properties.getTrustedProxyHops();
+        if (properties.isTrustForwardedFor() && hops > 0) {
+            List<String> forwardedFor = request.getHeaders().getValuesAsList("X-Forwarded-For");
+            if (!forwardedFor.isEmpty()) {
+                return forwardedFor.get(Math.max(0, forwardedFor.size() - hops));
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote == null || remote.getAddress() == null ? "unknown" : remote.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        String body = "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry in "
+                + retryAfterSeconds + "s\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static final class CompiledRule {
+        private final String id;
+        private final boolean perIp;
+        private final List<PathPattern> patterns;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            this.id = rule.getId();
+            this.perIp = rule.isPerIp();
+            this.patterns = rule.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rule.getRefillPerSecond()));
+            this.burstNanos = intervalNanos * rule.getCapacity();
+            this.allowed = meterRegistry.counter("gateway.rate-limit.requests", "rule", id, "outcome", "allowed");
+            this.rejected = meterRegistry.counter("gateway.rate-limit.requests", "rule", id, "outcome", "rejected");
+        }
+    }
+
+    // Token bucket kept as one "theoretical arrival time" (GCRA): each request moves it forward by one refill
+    // interval, and a request is refused when that would put it more than a full burst ahead of now.
+    // A single CAS per request, no locks.
+    private static final class Bucket {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong arrival;
+
+        private Bucket(long intervalNanos, long burstNanos) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = burstNanos;
+            this.arrival = new AtomicLong(System.nanoTime());
+        }
+
+        // 0 when admitted, otherwise the nanoseconds until a token is available
+        private long tryAcquire(long now) {
+            while (true) {
+                long current = arrival.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long excess = next - now - burstNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskscheduler.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caps the Retry filter with a budget instead of trusting its fixed count alone. Declared after Retry in a route's
+// filter list, so it runs again on every attempt: first attempts deposit `ratio` of a retry, later attempts spend a
+// whole one, and once the budget is empty the retry fails at once. A struggling service then sees at most ratio
+// extra load from retries rather than retries+1 times its traffic.
+@Component
+public class RetryBudgetGatewayFilterFactory extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    private static final String ATTEMPT_ATTR = RetryBudgetGatewayFilterFactory.class.getName() + ".attempt";
+
+    // Balance is kept in thousandths of a retry so fractional deposits need no floating point
+    private static final long SCALE = 1000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public RetryBudgetGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Keyed by name so a route refresh keeps the balance and the meters registered the first time
+        Budget budget = budgets.computeIfAbsent(config.getName(), name -> new Budget(name, config, meterRegistry));
+        return (exchange, chain) -> {
+            int attempt = exchange.getAttributeOrDefault(ATTEMPT_ATTR, 0);
+            exchange.getAttributes().put(ATTEMPT_ATTR, attempt + 1);
+            if (attempt == 0) {
+                budget.recordCall();
+                return chain.filter(exchange);
+            }
+            if (!budget.tryRetry()) {
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Retry budget exhausted"));
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    private static final class Budget {
+        private final long deposit;
+        private final long cap;
+        private final AtomicLong balance;
+        private final Counter granted;
+        private final Counter denied;
+
+        private Budget(String name, Config config, MeterRegistry meterRegistry) {
+            this.deposit = Math.max(0, Math.round(config.getRatio() * SCALE));
+            this.cap = Math.max(0, config.getMaxRetries()) * SCALE;
+            // Start full so a freshly started gateway can still ride out a blip
+            this.balance = new AtomicLong(cap);
+            this.granted = meterRegistry.counter("gateway.retries", "route", name, "outcome", "granted");
+            this.denied = meterRegistry.counter("gateway.retries", "route", name, "outcome", "denied");
+            meterRegistry.gauge("gateway.retry.budget", Tags.of("route", name), balance, value -> (double) value.get() / SCALE);
+        }
+
+        private void recordCall() {
+            balance.getAndUpdate(current -> Math.min(cap, current + deposit));
+        }
+
+        private boolean tryRetry() {
+            while (true) {
+                long current = balance.get();
+                if (current < SCALE) {
+                    denied.increment();
+                    return false;
+                }
+                if (balance.compareAndSet(current, current - SCALE)) {
+                    granted.increment();
+                    return true;
+                }
+            }
+        }
+    }
+
+    public static class Config {
+        // Metric tag, normally the route id
+        private String name = "default";
+        // Retries earned per first attempt
+        private double ratio = 0.1;
+        // Most retries that can be banked
+        private int maxRetries = 10;
+
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public double getRatio() { return ratio; }
+        public void setRatio(double ratio) { this.ratio = ratio; }
+
+        public int getMaxRetries() { return maxRetries; }
+        public void setMaxRetries(int maxRetries) { this.maxRetries = maxRetries; }
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskscheduler.gateway.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Routes /api/auth/** to a stub user-service and checks what the CircuitBreaker filter's fallback answers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "gateway.circuit-breaker.timeout-ms.user-service=500",
+        "gateway.circuit-breaker.open-ms=7000"
+})
+class FallbackControllerTest {
+
+    private static final AtomicInteger calls = new AtomicInteger();
+
+    private static final HttpServer userService = startUserService();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory;
+
+    @DynamicPropertySource
+    static void userServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("USER_SERVICE_URL", () -> "http://127.0.0.1:" + userService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopUserService() {
+        userService.stop(0);
+    }
+
+    @AfterEach
+    void closeBreaker() {
+        breaker().reset();
+    }
+
+    @Test
+    void timeoutAnswers504() {
+        webTestClient.post().uri("/api/auth/login").exchange()
+                .expectStatus().isEqualTo(504)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "7")
+                .expectBody().jsonPath("$.status").isEqualTo(504);
+    }
+
+    @Test
+    void failedCallAnswers503() {
+        webTestClient.post().uri("/api/auth/register").exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.status").isEqualTo(503);
+    }
+
+    @Test
+    void openBreakerAnswers503WithoutCallingTheService() {
+        breaker().transitionToOpenState();
+        int before = calls.get();
+
+        webTestClient.post().uri("/api/auth/login").exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "7");
+
+        assertThat(calls.get()).isEqualTo(before);
+    }
+
+    // Created through the factory so it carries the gateway's configuration, as the route's filter would
+    private CircuitBreaker breaker() {
+        circuitBreakerFactory.create("user-service");
+        return circuitBreakerFactory.getCircuitBreakerRegistry().circuitBreaker("user-service");
+    }
+
+    // login stalls past the breaker's 500ms limit; register fails with 503
+    private static HttpServer startUserService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/auth/login", exchange -> {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            server.createContext("/api/auth/register", exchange -> {
+                calls.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
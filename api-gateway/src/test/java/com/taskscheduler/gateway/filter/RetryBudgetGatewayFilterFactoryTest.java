@@ -0,0 +1,73 @@
+package com.taskscheduler.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RetryBudgetGatewayFilterFactory factory = new RetryBudgetGatewayFilterFactory();
+        ReflectionTestUtils.setField(factory, "meterRegistry", meterRegistry);
+        RetryBudgetGatewayFilterFactory.Config config = new RetryBudgetGatewayFilterFactory.Config();
+        config.setName("test-route");
+        config.setRatio(0);
+        config.setMaxRetries(1);
+        filter = factory.apply(config);
+    }
+
+    @Test
+    void retriesStopOnceTheBudgetIsSpent() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        // The one banked retry is granted, the next is refused without reaching the route
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(exchange, chain))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOfSatisfying(ResponseStatusException.class,
+                                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)))
+                .verify();
+
+        assertThat(forwarded).hasValue(2);
+        assertThat(meterRegistry.counter("gateway.retries", "route", "test-route", "outcome", "granted").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("gateway.retries", "route", "test-route", "outcome", "denied").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void firstAttemptsAreNeverRefused() {
+        MockServerWebExchange spender = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks"));
+        StepVerifier.create(filter.filter(spender, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(spender, chain)).verifyComplete();
+
+        MockServerWebExchange next = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks"));
+        StepVerifier.create(filter.filter(next, chain)).verifyComplete();
+
+        assertThat(forwarded).hasValue(3);
+    }
+}
@@ -0,0 +1,152 @@
+package com.taskscheduler.taskservice;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 1,000 clients calling GET /api/tasks/all on the whole task-service HTTP stack (Tomcat, Spring MVC, the user-service
+// Feign client with its breaker and bulkhead, JPA on H2) with remote token validation against a stub user-service
+// that takes userServiceMillis per call. The token cache is off and every client has its own token, so each request
+// makes its two user-service calls (validate, user-info). virtualThreads sets spring.threads.virtual.enabled, which
+// only takes effect on a Java 21+ runtime. Throughput is requests/s and the sample mode's p0.99 the p99 latency;
+// errors is the rate of answers other than 200 (bulkhead rejections and open-breaker 503s), which both include.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(1000)
+@Fork(1)
+public class TaskServiceHttpBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"20"})
+    private long userServiceMillis;
+
+    private HttpServer userService;
+
+    private ConfigurableApplicationContext taskService;
+
+    private HttpClient httpClient;
+
+    private URI listing;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger clients = new AtomicInteger();
+
+        private final String token = "Bearer bench-" + clients.incrementAndGet();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Errors {
+        public long errors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            errors = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        userService = startUserService();
+        // Passed as arguments: SpringApplicationBuilder.properties would be overridden by application.properties
+        taskService = new SpringApplicationBuilder(TaskServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=ERROR",
+                "--logging.level.com.taskscheduler.taskservice.client=ERROR",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--services.user-service.url=http://127.0.0.1:" + userService.getAddress().getPort(),
+                "--auth.token-validation.mode=remote",
+                "--auth.token-cache.ttl-seconds=0");
+        int port = ((WebServerApplicationContext) taskService).getWebServer().getPort();
+        listing = URI.create("http://127.0.0.1:" + port + "/api/tasks/all");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        taskService.close();
+        userService.stop(0);
+    }
+
+    @Benchmark
+    public int listTasks(Client client, Errors errors) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(listing).header("Authorization", client.token).GET().build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            errors.errors++;
+        }
+        return status;
+    }
+
+    // Accepts every token as user 1 after userServiceMillis; the directory version is fixed so it is never refetched
+    private HttpServer startUserService() throws IOException {
+        // Without it Nagle's algorithm and delayed ACKs add about 40 ms to every stub answer
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1000);
+        server.createContext("/api/auth/validate", exchange -> respond(exchange, "true", userServiceMillis));
+        server.createContext("/api/auth/user-info",
+                exchange -> respond(exchange, "{\"id\":1,\"name\":\"Bench\",\"email\":\"bench@example.com\"}", userServiceMillis));
+        server.createContext("/api/auth/lookup/version", exchange -> respond(exchange, "1", 0));
+        server.setExecutor(newStubExecutor());
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body, long delayMillis) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    // The service compiles for Java 17, so the virtual-thread executor is looked up rather than called directly
+    private static ExecutorService newStubExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
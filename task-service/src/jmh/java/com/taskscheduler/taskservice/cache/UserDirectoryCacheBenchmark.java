@@ -0,0 +1,138 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskscheduler.taskservice.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+// clients concurrent lookups of a cold directory spread over keys users, each miss costing a loadMicros user-service
+// call. asyncCache is UserDirectoryCache, which shares one load per key; getIfPresentPut is the check-then-put it
+// replaced, where every client that misses makes its own call. The loads counter totals the user-service calls over
+// the measurement; divided by the operation count it is the calls per cold burst (keys at best, clients at worst).
+// Clients run on virtual threads when the JVM has them (Java 21+) and on as many platform threads otherwise.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDirectoryCacheBenchmark {
+
+    @Param({"1000"})
+    private int clients;
+
+    @Param({"100"})
+    private int keys;
+
+    @Param({"2000"})
+    private long loadMicros;
+
+    private ExecutorService executor;
+
+    private UserDirectoryCache userDirectoryCache;
+
+    private Cache<Long, Optional<UserDTO>> checkThenPut;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Loads {
+        public long loads;
+    }
+
+    @Setup
+    public void setUp() {
+        executor = newClientExecutor();
+        userDirectoryCache = new UserDirectoryCache();
+        ReflectionTestUtils.setField(userDirectoryCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDirectoryCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userDirectoryCache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(userDirectoryCache, "negativeTtlSeconds", 30L);
+        userDirectoryCache.init();
+        checkThenPut = Caffeine.newBuilder().maximumSize(10_000).build();
+    }
+
+    // Every operation starts cold, as after a directory version change
+    @Setup(Level.Invocation)
+    public void clear() {
+        userDirectoryCache.invalidateAll();
+        checkThenPut.invalidateAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void asyncCache(Loads loads) throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        runClients(id -> userDirectoryCache.getById(id, () -> remoteLookup(id, calls)));
+        loads.loads += calls.get();
+    }
+
+    @Benchmark
+    public void getIfPresentPut(Loads loads) throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        runClients(id -> {
+            Optional<UserDTO> user = checkThenPut.getIfPresent(id);
+            if (user == null) {
+                user = remoteLookup(id, calls);
+                checkThenPut.put(id, user);
+            }
+            return user;
+        });
+        loads.loads += calls.get();
+    }
+
+    private void runClients(Function<Long, Optional<UserDTO>> lookup) throws Exception {
+        List<Callable<Optional<UserDTO>>> tasks = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            long id = i % keys;
+            tasks.add(() -> lookup.apply(id));
+        }
+        for (var result : executor.invokeAll(tasks)) {
+            result.get();
+        }
+    }
+
+    private Optional<UserDTO> remoteLookup(long id, AtomicInteger calls) {
+        calls.incrementAndGet();
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(loadMicros));
+        return Optional.of(new UserDTO(id, "User " + id, "user" + id + "@example.com"));
+    }
+
+    // The service compiles for Java 17, so the virtual-thread executor is looked up rather than called directly
+    private ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+}
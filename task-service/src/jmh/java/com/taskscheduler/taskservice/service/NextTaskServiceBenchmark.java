@@ -0,0 +1,95 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.NextTaskDTO;
+import com.taskscheduler.taskservice.repository.TaskRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// NextTaskService's bounded heap against the full sort it replaced, over size open tasks already read from the
+// database, so only the selection differs. Both score every row; sortAll also materializes and sorts all of them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NextTaskServiceBenchmark {
+
+    private static final Long USER_ID = 42L;
+
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int k;
+
+    private List<TaskRepository.OpenTaskRow> rows;
+
+    private NextTaskService nextTaskService;
+
+    private final UrgencyScorer urgencyScorer = new DefaultUrgencyScorer();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int rank = 1 + random.nextInt(3);
+            rows.add(new Row((long) i, "Task " + i, PRIORITIES[rank - 1], rank, now.plusMinutes(random.nextInt(60 * 24 * 60) - 60 * 24 * 7)));
+        }
+
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        Mockito.when(taskRepository.streamOpenByUserId(USER_ID)).thenAnswer(invocation -> rows.stream());
+        nextTaskService = new NextTaskService();
+        ReflectionTestUtils.setField(nextTaskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(nextTaskService, "urgencyScorer", urgencyScorer);
+    }
+
+    @Benchmark
+    public List<NextTaskDTO> heap() {
+        return nextTaskService.getNextTasks(USER_ID, k, false);
+    }
+
+    @Benchmark
+    public List<NextTaskDTO> sortAll() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NextTaskDTO> all = new ArrayList<>(rows.size());
+        for (TaskRepository.OpenTaskRow row : rows) {
+            double score = urgencyScorer.score(row.getPriorityRank(), row.getEndTime(), now);
+            all.add(new NextTaskDTO(NextTaskDTO.SOURCE_TASK, row.getId(), null, row.getDescription(),
+                    row.getPriority(), row.getEndTime(), row.getEndTime().isBefore(now), score));
+        }
+        all.sort(Comparator.comparingDouble(NextTaskDTO::getScore).reversed());
+        return new ArrayList<>(all.subList(0, Math.min(k, all.size())));
+    }
+
+    private record Row(Long id, String description, String priority, Integer priorityRank, LocalDateTime endTime)
+            implements TaskRepository.OpenTaskRow {
+        public Long getId() { return id; }
+        public String getDescription() { return description; }
+        public String getPriority() { return priority; }
+        public Integer getPriorityRank() { return priorityRank; }
+        public LocalDateTime getEndTime() { return endTime; }
+    }
+}
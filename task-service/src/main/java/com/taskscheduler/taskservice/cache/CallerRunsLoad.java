@@ -0,0 +1,44 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Miss handling shared by the caches: the first caller for a key runs the loader on its own thread, with its own
+// transaction and request context, and concurrent callers for that key wait for its result. Only placing the
+// future is atomic, so no cache lock is held while the loader runs, and an invalidation during the load drops the
+// future rather than letting a stale result be written back afterwards.
+final class CallerRunsLoad {
+
+    private CallerRunsLoad() {
+    }
+
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                // Failed futures are removed, so the next caller loads again
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return join(future);
+    }
+
+    // Rethrows the loader's own exception rather than the CompletionException wrapping it
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
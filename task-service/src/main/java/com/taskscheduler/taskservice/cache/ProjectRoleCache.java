@@ -0,0 +1,109 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.taskscheduler.taskservice.entity.enums.ProjectRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// (projectId, userId) -> role answers for project authorization; non-members and missing projects are cached too
+@Component
+public class ProjectRoleCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${project-access.cache.max-size:50000}")
+    private long maxSize;
+
+    @Value("${project-access.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${project-access.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    private AsyncCache<Key, Access> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new AccessExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds), TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project-roles");
+    }
+
+    // Concurrent misses for one key share a single load, which runs on the first caller's thread and transaction
+    // outside any cache lock; an invalidate() during the load discards its result instead of caching it
+    public Access get(Long projectId, Long userId, Supplier<Access> loader) {
+        return CallerRunsLoad.get(cache, new Key(projectId, userId), loader);
+    }
+
+    // Drops the entry now and again once the transaction ends, so a read racing the write cannot re-cache the old role
+    public void invalidate(Long projectId, Long userId) {
+        Key key = new Key(projectId, userId);
+        runNowAndAfterCompletion(() -> cache.synchronous().invalidate(key));
+    }
+
+    public void invalidateProject(Long projectId) {
+        runNowAndAfterCompletion(() -> cache.asMap().keySet().removeIf(key -> key.projectId().equals(projectId)));
+    }
+
+    private static void runNowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private record Key(Long projectId, Long userId) {
+    }
+
+    // role is null when the user is not a member; projectExists separates 403 from 404
+    public record Access(ProjectRole role, boolean projectExists) {
+        public boolean isMember() {
+            return role != null;
+        }
+    }
+
+    private static class AccessExpiry implements Expiry<Key, Access> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        AccessExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Access value, long currentTime) {
+            return value.isMember() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Access value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Access value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
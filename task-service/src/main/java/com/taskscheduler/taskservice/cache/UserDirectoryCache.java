@@ -0,0 +1,179 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.taskscheduler.taskservice.client.UserServiceClient;
+import com.taskscheduler.taskservice.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Local copy of user-service lookups by id and by email; empty values remember users that do not exist
+@Component
+public class UserDirectoryCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Value("${user-directory.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user-directory.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${user-directory.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    // user-service refuses batch lookups above its own limit, so larger misses are split into requests of this size
+    @Value("${user-directory.batch-size:500}")
+    private int batchSize;
+
+    private AsyncCache<Long, Optional<UserDTO>> byId;
+
+    private AsyncCache<String, Optional<UserDTO>> byEmail;
+
+    private volatile String lastSeenVersion;
+
+    // Bumped by invalidateAll, so a lookup that started before it does not seed the other cache afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        byId = newCache();
+        byEmail = newCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users-by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users-by-email");
+    }
+
+    private <K> AsyncCache<K, Optional<UserDTO>> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LookupExpiry<K>(TimeUnit.SECONDS.toNanos(ttlSeconds), TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Loaders call user-service on the first caller's thread, outside any cache lock, so virtual threads are not
+    // pinned for the remote call; concurrent misses for one key share that call. Loader exceptions are not cached,
+    // and a load that an invalidateAll() overtakes is returned to its callers but not cached.
+    public Optional<UserDTO> getById(Long id, Supplier<Optional<UserDTO>> loader) {
+        long seen = generation.get();
+        Optional<UserDTO> user = CallerRunsLoad.get(byId, id, loader);
+        user.ifPresent(found -> rememberEmail(found, seen));
+        return user;
+    }
+
+    public Optional<UserDTO> getByEmail(String email, Supplier<Optional<UserDTO>> loader) {
+        long seen = generation.get();
+        Optional<UserDTO> user = CallerRunsLoad.get(byEmail, normalize(email), loader);
+        user.ifPresent(found -> seed(byId, found.getId(), found, seen));
+        return user;
+    }
+
+    // Only ids missing from the cache are passed to the loader, on the caller's thread; ids it does not return are
+    // cached as absent, and concurrent callers asking for an id being loaded wait for this load
+    public Map<Long, Optional<UserDTO>> getAllById(Collection<Long> ids, Function<List<Long>, Map<Long, UserDTO>> loader) {
+        long seen = generation.get();
+        Map<Long, Optional<UserDTO>> users = CallerRunsLoad.join(byId.getAll(ids, (missing, executor) -> {
+            List<Long> missingIds = List.copyOf(missing);
+            Map<Long, UserDTO> found = new HashMap<>();
+            int chunk = Math.max(1, batchSize);
+            for (int from = 0; from < missingIds.size(); from += chunk) {
+                found.putAll(loader.apply(missingIds.subList(from, Math.min(missingIds.size(), from + chunk))));
+            }
+            Map<Long, Optional<UserDTO>> loaded = new HashMap<>();
+            for (Long id : missingIds) {
+                loaded.put(id, Optional.ofNullable(found.get(id)));
+            }
+            return CompletableFuture.completedFuture(loaded);
+        }));
+        users.values().forEach(user -> user.ifPresent(found -> rememberEmail(found, seen)));
+        return users;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byId.synchronous().invalidateAll();
+        byEmail.synchronous().invalidateAll();
+    }
+
+    // user-service bumps its directory version whenever a user row is created or changed
+    @Scheduled(fixedDelayString = "${user-directory.version-poll-ms:30000}")
+    void pollDirectoryVersion() {
+        try {
+            ResponseEntity<String> response = userServiceClient.getUserDirectoryVersion();
+            String version = response.getBody();
+            if (version == null) {
+                return;
+            }
+            if (lastSeenVersion != null && !Objects.equals(lastSeenVersion, version)) {
+                invalidateAll();
+            }
+            lastSeenVersion = version;
+        } catch (Exception ignored) {
+            // Keep serving cached entries; TTLs still bound their age
+        }
+    }
+
+    private void rememberEmail(UserDTO user, long seen) {
+        if (user.getEmail() != null) {
+            seed(byEmail, normalize(user.getEmail()), user, seen);
+        }
+    }
+
+    private <K> void seed(AsyncCache<K, Optional<UserDTO>> cache, K key, UserDTO user, long seen) {
+        if (generation.get() == seen) {
+            cache.asMap().putIfAbsent(key, CompletableFuture.completedFuture(Optional.of(user)));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private static class LookupExpiry<K> implements Expiry<K, Optional<UserDTO>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        LookupExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Optional<UserDTO> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<UserDTO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<UserDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskscheduler.taskservice.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Remembers users resolved by user-service, keyed by a SHA-256 digest of the bearer token
+@Component
+public class VerifiedTokenCache {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.token-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.token-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private AsyncCache<String, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-tokens");
+    }
+
+    // The loader calls user-service on the first caller's thread, outside any cache lock, so a virtual thread is
+    // never pinned to its carrier; concurrent misses for one token wait for that single call
+    public UserDTO get(String authHeader, Supplier<UserDTO> loader) {
+        return CallerRunsLoad.get(cache, digest(authHeader), () -> new Entry(loader.get(), expiresAtNanos(authHeader))).user();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private long expiresAtNanos(String authHeader) {
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        Long expEpochSeconds = readExpiry(authHeader);
+        if (expEpochSeconds == null) {
+            return now + ttlNanos;
+        }
+        long untilExpNanos = TimeUnit.MILLISECONDS.toNanos(expEpochSeconds * 1000 - System.currentTimeMillis());
+        return now + Math.max(0, Math.min(ttlNanos, untilExpNanos));
+    }
+
+    // The token was already accepted by user-service, so the unverified payload is only used to bound the entry lifetime
+    private Long readExpiry(String authHeader) {
+        try {
+            String[] parts = authHeader.substring(authHeader.indexOf(' ') + 1).split("\\.");
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            return payload.has("exp") ? payload.get("exp").asLong() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String digest(String authHeader) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(authHeader.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(UserDTO user, long expiresAtNanos) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, entry.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskscheduler.taskservice.client;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Feign clones the retryer at the start of every call, so clone() is where a call is counted towards the budget and
+// each clone carries that call's attempt number. Feign only retries RetryableException (connection failures, read
+// timeouts, 503 with Retry-After); every UserServiceClient method is a read, so repeating one is safe.
+public class BudgetedRetryer implements Retryer {
+
+    private final RetryBudget budget;
+    // Backstop per call; the budget is what limits retries overall
+    private final int maxAttempts;
+    private final long backoffMs;
+    private int attempt = 1;
+
+    public BudgetedRetryer(RetryBudget budget, int maxAttempts, long backoffMs) {
+        this.budget = budget;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (attempt >= maxAttempts || !budget.tryRetry()) {
+            throw e;
+        }
+        try {
+            // Linear backoff with jitter so callers that failed together do not retry together
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        attempt++;
+    }
+
+    @Override
+    public Retryer clone() {
+        budget.recordCall();
+        return new BudgetedRetryer(budget, maxAttempts, backoffMs);
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskscheduler.taskservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Retries to user-service are paid for by ordinary calls: every call deposits `ratio` of a retry and every retry
+// withdraws a whole one, up to max-retries banked. When user-service is failing, retries therefore stay a fixed
+// fraction of traffic instead of multiplying it.
+@Component
+public class RetryBudget {
+
+    // Balance is kept in thousandths of a retry so fractional deposits need no floating point
+    private static final long SCALE = 1000;
+
+    @Value("${services.user-service.retry.budget-ratio:0.1}")
+    private double ratio;
+
+    @Value("${services.user-service.retry.budget-max:10}")
+    private int maxRetries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    private long deposit;
+
+    private long cap;
+
+    private Counter granted;
+
+    private Counter denied;
+
+    @PostConstruct
+    void init() {
+        deposit = Math.max(0, Math.round(ratio * SCALE));
+        cap = Math.max(0, maxRetries) * SCALE;
+        // Start full so a freshly started instance can still ride out a blip
+        balance.set(cap);
+        granted = meterRegistry.counter("user-service.retries", "outcome", "granted");
+        denied = meterRegistry.counter("user-service.retries", "outcome", "denied");
+        meterRegistry.gauge("user-service.retry.budget", balance, value -> (double) value.get() / SCALE);
+    }
+
+    public void recordCall() {
+        balance.getAndUpdate(current -> Math.min(cap, current + deposit));
+    }
+
+    public boolean tryRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                denied.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                granted.increment();
+                return true;
+            }
+        }
+    }
+}
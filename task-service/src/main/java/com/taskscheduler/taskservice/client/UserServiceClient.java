@@ -6,10 +6,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "user-service", url = "${services.user-service.url:http://127.0.0.1:8081}")
+import java.util.List;
+
+@FeignClient(name = "user-service", url = "${services.user-service.url:http://127.0.0.1:8081}",
+        fallbackFactory = UserServiceFallbackFactory.class)
 public interface UserServiceClient {
 
     @PostMapping("/api/auth/validate")
@@ -23,4 +27,10 @@ public interface UserServiceClient {
 
     @GetMapping("/api/auth/lookup/{id}")
     ResponseEntity<UserDTO> getUserById(@PathVariable("id") Long id, @RequestHeader("Authorization") String token);
+
+    @GetMapping("/api/auth/lookup/version")
+    ResponseEntity<String> getUserDirectoryVersion();
+
+    @PostMapping("/api/auth/lookup/batch")
+    ResponseEntity<List<UserDTO>> getUsersByIds(@RequestBody List<Long> ids, @RequestHeader("Authorization") String token);
 }
@@ -0,0 +1,67 @@
+package com.taskscheduler.taskservice.client;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+// Answers for UserServiceClient when a call fails or the breaker is open. A 4xx from user-service is a real answer
+// (404 means "no such user") and is rethrown as is; anything else becomes a 503 so callers report the outage instead
+// of mistaking it for a missing user.
+@Component
+public class UserServiceFallbackFactory implements FallbackFactory<UserServiceClient> {
+
+    @Override
+    public UserServiceClient create(Throwable cause) {
+        RuntimeException failure = toFailure(cause);
+        return new UserServiceClient() {
+            @Override
+            public ResponseEntity<Boolean> validateToken(String token) {
+                throw failure;
+            }
+
+            @Override
+            public ResponseEntity<UserDTO> getUserInfo(String token) {
+                throw failure;
+            }
+
+            @Override
+            public ResponseEntity<UserDTO> getUserByEmail(String email, String token) {
+                throw failure;
+            }
+
+            @Override
+            public ResponseEntity<UserDTO> getUserById(Long id, String token) {
+                throw failure;
+            }
+
+            @Override
+            public ResponseEntity<String> getUserDirectoryVersion() {
+                throw failure;
+            }
+
+            @Override
+            public ResponseEntity<List<UserDTO>> getUsersByIds(List<Long> ids, String token) {
+                throw failure;
+            }
+        };
+    }
+
+    private static RuntimeException toFailure(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof FeignException.FeignClientException clientError) {
+                return clientError;
+            }
+        }
+        String reason = cause instanceof CallNotPermittedException
+                ? "User service is unavailable, please retry shortly"
+                : "User service did not respond, please retry";
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason, cause);
+    }
+}
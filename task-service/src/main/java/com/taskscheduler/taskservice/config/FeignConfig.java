@@ -1,14 +1,124 @@
 package com.taskscheduler.taskservice.config;
 
+import com.taskscheduler.taskservice.client.BudgetedRetryer;
+import com.taskscheduler.taskservice.client.RetryBudget;
+import feign.FeignException;
+import feign.Retryer;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadConfigurationBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import feign.Logger;
 
+import java.time.Duration;
+
 @Configuration
 public class FeignConfig {
 
+    @Value("${services.user-service.retry.max-attempts:2}")
+    private int retryMaxAttempts;
+
+    @Value("${services.user-service.retry.backoff-ms:50}")
+    private long retryBackoffMs;
+
+    @Value("${services.user-service.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${services.user-service.circuit-breaker.slow-call-ms:1500}")
+    private long slowCallMs;
+
+    @Value("${services.user-service.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${services.user-service.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${services.user-service.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${services.user-service.circuit-breaker.open-ms:10000}")
+    private long openMs;
+
+    @Value("${services.user-service.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${services.user-service.circuit-breaker.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${services.user-service.bulkhead.max-concurrent:20}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${services.user-service.bulkhead.queue-capacity:50}")
+    private int bulkheadQueueCapacity;
+
+    @Value("${services.user-service.bulkhead.semaphore-max-concurrent:200}")
+    private int semaphoreMaxConcurrent;
+
     @Bean
     Logger.Level feignLoggerLevel() {
         return Logger.Level.FULL;
     }
+
+    @Bean
+    Retryer feignRetryer(RetryBudget retryBudget) {
+        return new BudgetedRetryer(retryBudget, retryMaxAttempts, retryBackoffMs);
+    }
+
+    // One breaker per client rather than per method, since every method fails together when user-service is down
+    @Bean
+    CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
+    // Opens when half of the last window-size calls failed or most were slow; after open-ms, half-open-calls probes
+    // decide whether to close again. 4xx answers are ignored: they mean user-service is up. The time limiter caps a
+    // whole call including retries.
+    @Bean
+    Customizer<Resilience4JCircuitBreakerFactory> userServiceCircuitBreaker() {
+        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                        .slidingWindowSize(windowSize)
+                        .minimumNumberOfCalls(minimumCalls)
+                        .failureRateThreshold(failureRateThreshold)
+                        .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+                        .slowCallRateThreshold(slowCallRateThreshold)
+                        .waitDurationInOpenState(Duration.ofMillis(openMs))
+                        .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                        .ignoreExceptions(FeignException.FeignClientException.class)
+                        .build())
+                .timeLimiterConfig(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(timeoutMs))
+                        .build())
+                .build());
+    }
+
+    // Calls run on a bounded pool of their own, so a slow user-service can tie up at most max-concurrent threads
+    // and queue-capacity waiting calls; beyond that calls are refused straight away instead of piling up request threads.
+    // That pool would also cap virtual-thread mode at max-concurrent calls in flight, so there the semaphore bulkhead
+    // is used instead (spring.cloud.circuitbreaker.resilience4j.enable-semaphore-default-bulkhead): the request's
+    // virtual thread waits for the call itself, and semaphore-max-concurrent bounds the load on user-service.
+    @Bean
+    Customizer<Resilience4jBulkheadProvider> userServiceBulkhead() {
+        return provider -> provider.configureDefault(id -> new Resilience4jBulkheadConfigurationBuilder()
+                .bulkheadConfig(BulkheadConfig.custom()
+                        .maxConcurrentCalls(semaphoreMaxConcurrent)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build())
+                .threadPoolBulkheadConfig(ThreadPoolBulkheadConfig.custom()
+                        .coreThreadPoolSize(bulkheadMaxConcurrent)
+                        .maxThreadPoolSize(bulkheadMaxConcurrent)
+                        .queueCapacity(bulkheadQueueCapacity)
+                        .build())
+                .build());
+    }
 }
@@ -0,0 +1,78 @@
+package com.taskscheduler.taskservice.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// tasks and project_tasks used IDENTITY ids before their sequences existed; moves each sequence past the
+// existing max(id) so pooled ids never collide with rows written under the old strategy
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final long ALLOCATION_SIZE = 50;
+
+    private static final List<String[]> SEQUENCES = List.of(
+            new String[]{"tasks", "tasks_seq"},
+            new String[]{"project_tasks", "project_tasks_seq"}
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema update has run before this bean initialises
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void align() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        for (String[] sequence : SEQUENCES) {
+            try {
+                align(product, sequence[0], sequence[1]);
+            } catch (Exception e) {
+                log.warn("Could not align sequence {} with {}: {}", sequence[1], sequence[0], e.getMessage());
+            }
+        }
+    }
+
+    private void align(String product, String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // The pooled optimizer hands out (value - ALLOCATION_SIZE, value], so the next value must clear max(id) by a full block
+        long target = maxId + ALLOCATION_SIZE + 1;
+
+        if ("H2".equals(product)) {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?", Long.class, sequence.toUpperCase());
+            if (next != null && next < target) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + target);
+                log.info("Restarted {} at {}", sequence, target);
+            }
+        } else if ("PostgreSQL".equals(product)) {
+            Long last = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            if (last != null && last < target) {
+                jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?, false)", Long.class, target);
+                log.info("Restarted {} at {}", sequence, target);
+            }
+        } else if ("MySQL".equals(product)) {
+            // MySQL has no sequences; Hibernate emulates them with a one-row next_val table
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", target, target);
+            if (updated > 0) {
+                log.info("Restarted {} at {}", sequence, target);
+            }
+        }
+    }
+}
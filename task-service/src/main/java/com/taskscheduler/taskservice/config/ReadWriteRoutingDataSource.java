@@ -0,0 +1,95 @@
+package com.taskscheduler.taskservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+// Sends readOnly transactions to the replica and everything else to the primary. A client that committed a
+// write within the stickiness window keeps reading from the primary so it sees its own changes.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<String> CLIENT_KEY = new ThreadLocal<>();
+
+    // Transaction resource holding the pool the current transaction's connection came from
+    private static final Object ROUTED_TARGET = new Object();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final BooleanSupplier replicaUsable;
+
+    public ReadWriteRoutingDataSource(Duration stickiness, long maxTrackedClients, BooleanSupplier replicaUsable) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterWrite(stickiness)
+                .build();
+        this.replicaUsable = replicaUsable;
+    }
+
+    // Set per request by ReadYourWritesFilter; null outside a request, which disables stickiness
+    public static void setClientKey(String clientKey) {
+        CLIENT_KEY.set(clientKey);
+    }
+
+    public static void clearClientKey() {
+        CLIENT_KEY.remove();
+    }
+
+    // Read by work handed to other threads, which set it there for the duration of that work
+    public static String currentClientKey() {
+        return CLIENT_KEY.get();
+    }
+
+    // The pool the current transaction reads from, or null before its first statement and outside transactions
+    public static Target currentTarget() {
+        return (Target) TransactionSynchronizationManager.getResource(ROUTED_TARGET);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientKey = CLIENT_KEY.get();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            boolean sticky = clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+            return remember(!sticky && replicaUsable.getAsBoolean() ? Target.REPLICA : Target.PRIMARY);
+        }
+        if (clientKey != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(clientKey, Boolean.TRUE);
+                }
+            });
+        }
+        return remember(Target.PRIMARY);
+    }
+
+    // Unbound while a REQUIRES_NEW transaction suspends this one, so the inner transaction reports its own pool
+    private static Target remember(Target target) {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(ROUTED_TARGET)) {
+            TransactionSynchronizationManager.bindResource(ROUTED_TARGET, target);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ROUTED_TARGET);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(ROUTED_TARGET, target);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ROUTED_TARGET);
+                }
+            });
+        }
+        return target;
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskscheduler.taskservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Identifies the caller by its bearer token so reads after its own writes can be pinned to the primary
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // A hash collision only pins an extra client to the primary for the stickiness window
+        String authHeader = request.getHeader("Authorization");
+        ReadWriteRoutingDataSource.setClientKey(authHeader == null ? null : Integer.toHexString(authHeader.hashCode()) + ":" + authHeader.length());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearClientKey();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskscheduler.taskservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// Polls the replica's lag and takes it out of rotation while it is too far behind or unreachable
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+
+    private final String lagQuery;
+
+    private final double maxLagSeconds;
+
+    private volatile boolean usable = true;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, double maxLagSeconds) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    // lagQuery must return the replica's lag in seconds, e.g. on PostgreSQL:
+    // SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-ms:5000}")
+    void check() {
+        boolean nowUsable;
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                nowUsable = true;
+            } else {
+                Double lag = replica.queryForObject(lagQuery, Double.class);
+                nowUsable = lag != null && lag <= maxLagSeconds;
+            }
+        } catch (Exception e) {
+            nowUsable = false;
+        }
+        if (nowUsable != usable) {
+            log.warn(nowUsable ? "Replica back in rotation" : "Replica out of rotation, reads go to the primary");
+        }
+        usable = nowUsable;
+    }
+}
@@ -0,0 +1,156 @@
+package com.taskscheduler.taskservice.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Versioned schema changes that ddl-auto=update cannot make on an existing database: it creates missing tables,
+// columns and named indexes, but never changes or drops an index that already exists. Each version runs once, after
+// the schema update, and is recorded in schema_migrations. Steps are idempotent, so a fresh database (where the
+// update already created everything) and two instances starting together are both safe.
+@Component
+public class SchemaMigrations {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema update has run before this bean initialises
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String product;
+
+    private final List<Migration> migrations = List.of(
+            new Migration(1, "Task and membership access-path indexes", this::accessPathIndexes),
+            new Migration(2, "Task priority rank backfill, default and check", this::priorityRank)
+    );
+
+    @PostConstruct
+    void migrate() {
+        product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (version INTEGER NOT NULL PRIMARY KEY, " +
+                "description VARCHAR(200) NOT NULL, applied_at TIMESTAMP NOT NULL)");
+        Set<Integer> applied = new HashSet<>(jdbcTemplate.queryForList("SELECT version FROM schema_migrations", Integer.class));
+        for (Migration migration : migrations) {
+            if (applied.contains(migration.version())) {
+                continue;
+            }
+            try {
+                migration.step().run();
+            } catch (Exception e) {
+                // Later versions may depend on this one; leave them all for the next start
+                log.warn("Schema migration {} ({}) failed: {}", migration.version(), migration.description(), e.getMessage());
+                return;
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO schema_migrations (version, description, applied_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                        migration.version(), migration.description());
+            } catch (DuplicateKeyException e) {
+                // Another instance applied it at the same time
+            }
+            log.info("Applied schema migration {} ({})", migration.version(), migration.description());
+        }
+    }
+
+    // V1: the indexes the finders in TaskRepository, ProjectTaskRepository and ProjectMemberRepository rely on
+    private void accessPathIndexes() {
+        ensureIndex("tasks", "idx_tasks_user_done_end", "user_id", "done", "end_time");
+        ensureIndex("tasks", "idx_tasks_user_start", "user_id", "start_time");
+        ensureIndex("tasks", "idx_tasks_user_category", "user_id", "category");
+        ensureIndex("project_tasks", "idx_project_tasks_project_status", "project_id", "status");
+        ensureIndex("project_tasks", "idx_project_tasks_project_created", "project_id", "created_at", "id");
+        ensureIndex("project_tasks", "idx_project_tasks_assignee_status_due", "assigned_user_id", "status", "due_date");
+        ensureIndex("project_members", "idx_project_members_user", "user_id");
+    }
+
+    // V2: rows added before priority_rank existed took the column's old default (4). Ranks them from priority once,
+    // aligns the default with the entity's "Medium", adds the range check that @Check only puts on new tables and
+    // replaces the (user_id, priority, end_time) index that the rank ordering superseded.
+    private void priorityRank() {
+        String rank = "CASE priority WHEN 'High' THEN 1 WHEN 'Medium' THEN 2 WHEN 'Low' THEN 3 ELSE 4 END";
+        int ranked = jdbcTemplate.update("UPDATE tasks SET priority_rank = " + rank +
+                " WHERE priority_rank IS NULL OR priority_rank <> " + rank);
+        log.info("Ranked {} tasks by priority", ranked);
+        jdbcTemplate.execute("ALTER TABLE tasks ALTER COLUMN priority_rank SET DEFAULT 2");
+        if (!constraintExists("tasks", "ck_tasks_priority_rank")) {
+            jdbcTemplate.execute("ALTER TABLE tasks ADD CONSTRAINT ck_tasks_priority_rank CHECK (priority_rank BETWEEN 1 AND 4)");
+        }
+        dropIndex("tasks", "idx_tasks_user_priority_end");
+        ensureIndex("tasks", "idx_tasks_user_rank_end", "user_id", "priority_rank", "end_time", "id");
+        ensureIndex("tasks", "idx_tasks_user_priority", "user_id", "priority");
+    }
+
+    boolean constraintExists(String table, String name) {
+        String schema = "PostgreSQL".equals(product) ? "current_schema()"
+                : "MySQL".equals(product) || "MariaDB".equals(product) ? "DATABASE()" : "CURRENT_SCHEMA";
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints " +
+                "WHERE table_schema = " + schema + " AND LOWER(table_name) = ? AND LOWER(constraint_name) = ?",
+                Integer.class, table, name);
+        return count != null && count > 0;
+    }
+
+    // Creates the index, or rebuilds it when an index of that name exists over other columns
+    void ensureIndex(String table, String name, String... columns) {
+        List<String> existing = indexColumns(table, name);
+        if (existing.equals(Arrays.asList(columns))) {
+            return;
+        }
+        if (!existing.isEmpty()) {
+            dropIndex(table, name);
+        }
+        jdbcTemplate.execute("CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")");
+        log.info("Created index {} on {}", name, table);
+    }
+
+    void dropIndex(String table, String name) {
+        if (indexColumns(table, name).isEmpty()) {
+            return;
+        }
+        if ("MySQL".equals(product) || "MariaDB".equals(product)) {
+            jdbcTemplate.execute("DROP INDEX " + name + " ON " + table);
+        } else {
+            jdbcTemplate.execute("DROP INDEX " + name);
+        }
+        log.info("Dropped index {} on {}", name, table);
+    }
+
+    // Column names of the index in key order, lower-cased; empty when there is no such index
+    List<String> indexColumns(String table, String name) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            Map<Short, String> columns = new TreeMap<>();
+            try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+                while (rows.next()) {
+                    String column = rows.getString("COLUMN_NAME");
+                    if (name.equalsIgnoreCase(rows.getString("INDEX_NAME")) && column != null) {
+                        columns.put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                    }
+                }
+            }
+            return new ArrayList<>(columns.values());
+        });
+    }
+
+    private record Migration(int version, String description, Runnable step) {
+    }
+}
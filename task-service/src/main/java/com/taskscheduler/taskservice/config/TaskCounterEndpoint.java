@@ -0,0 +1,30 @@
+package com.taskscheduler.taskservice.config;
+
+import com.taskscheduler.taskservice.service.TaskCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// /actuator/taskcounters: GET counts the projects and users whose counters disagree with project_tasks, POST repairs
+// them. Disabled unless TASK_COUNTERS_ENDPOINT_ENABLED is set, since task-service's port has no auth of its own.
+@Component
+@Endpoint(id = "taskcounters", enableByDefault = false)
+public class TaskCounterEndpoint {
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @ReadOperation
+    public Map<String, Integer> verify() {
+        return Map.of("drifted", taskCounterService.countDrift());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("repaired", taskCounterService.rebuild());
+    }
+}
@@ -2,9 +2,12 @@ package com.taskscheduler.taskservice.controller;
 
 import com.taskscheduler.taskservice.dto.UserDTO;
 import com.taskscheduler.taskservice.dto.dashboard.DashboardResponse;
+import com.taskscheduler.taskservice.service.ChangeVersionService;
 import com.taskscheduler.taskservice.service.DashboardService;
 import com.taskscheduler.taskservice.service.UserService;
+import com.taskscheduler.taskservice.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -18,12 +21,21 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
     @Autowired
     private UserService userService;
 
     @GetMapping
-    public ResponseEntity<DashboardResponse> getDashboard(@RequestHeader("Authorization") String authHeader) throws Exception {
+    public ResponseEntity<DashboardResponse> getDashboard(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                          @RequestHeader("Authorization") String authHeader) throws Exception {
         UserDTO currentUser = userService.getUserFromToken(authHeader);
-        return ResponseEntity.ok(dashboardService.getDashboard(currentUser));
+        // Read before the body: a write landing in between yields a stale tag, never a stale 304
+        String etag = changeVersionService.dashboardTag(currentUser.getId());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(dashboardService.getDashboard(currentUser));
     }
 }
@@ -0,0 +1,31 @@
+package com.taskscheduler.taskservice.controller;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.service.ChangeEventService;
+import com.taskscheduler.taskservice.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private UserService userService;
+
+    // Stream of task.* and project-task.* changes for the caller; holds no database connection while open
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             @RequestHeader("Authorization") String authHeader) throws Exception {
+        UserDTO currentUser = userService.getUserFromToken(authHeader);
+        return changeEventService.subscribe(currentUser.getId(), lastEventId);
+    }
+}
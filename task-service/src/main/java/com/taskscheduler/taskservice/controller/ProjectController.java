@@ -2,8 +2,10 @@ package com.taskscheduler.taskservice.controller;
 
 import com.taskscheduler.taskservice.dto.UserDTO;
 import com.taskscheduler.taskservice.dto.project.*;
+import com.taskscheduler.taskservice.service.ChangeVersionService;
 import com.taskscheduler.taskservice.service.ProjectManagementService;
 import com.taskscheduler.taskservice.service.UserService;
+import com.taskscheduler.taskservice.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,9 @@ public class ProjectController {
     @Autowired
     private ProjectManagementService projectManagementService;
 
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
     @Autowired
     private UserService userService;
 
@@ -33,8 +38,14 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getMyProjects(@RequestHeader("Authorization") String authHeader) throws Exception {
-        return ResponseEntity.ok(projectManagementService.getMyProjects(currentUser(authHeader)));
+    public ResponseEntity<List<ProjectResponse>> getMyProjects(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                               @RequestHeader("Authorization") String authHeader) throws Exception {
+        UserDTO user = currentUser(authHeader);
+        String etag = changeVersionService.projectsTag(user.getId());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(projectManagementService.getMyProjects(user));
     }
 
     @GetMapping("/{projectId}")
@@ -1,11 +1,15 @@
 package com.taskscheduler.taskservice.controller;
 
+import com.taskscheduler.taskservice.dto.BulkResponse;
 import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.dto.task.BulkProjectTaskStatusRequest;
+import com.taskscheduler.taskservice.dto.task.BulkUpdateProjectTaskRequest;
 import com.taskscheduler.taskservice.dto.task.CreateProjectTaskRequest;
 import com.taskscheduler.taskservice.dto.task.ProjectTaskResponse;
 import com.taskscheduler.taskservice.dto.task.UpdateProjectTaskRequest;
 import com.taskscheduler.taskservice.service.ProjectTaskManagementService;
 import com.taskscheduler.taskservice.service.UserService;
+import com.taskscheduler.taskservice.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -28,10 +32,22 @@ public class ProjectTaskController {
         return userService.getUserFromToken(authHeader);
     }
 
+    // Without limit/cursor the full list is returned, as before; with either, one keyset page
     @GetMapping
-    public ResponseEntity<List<ProjectTaskResponse>> getTasks(@PathVariable Long projectId,
-                                                              @RequestHeader("Authorization") String authHeader) throws Exception {
-        return ResponseEntity.ok(projectTaskManagementService.getProjectTasks(projectId, currentUser(authHeader), authHeader));
+    public ResponseEntity<?> getTasks(@PathVariable Long projectId,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                      @RequestHeader("Authorization") String authHeader) throws Exception {
+        UserDTO user = currentUser(authHeader);
+        String etag = projectTaskManagementService.getProjectTasksTag(projectId, user, ETags.variant(limit, cursor));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (limit != null || cursor != null) {
+            return ResponseEntity.ok().eTag(etag).body(projectTaskManagementService.getProjectTasksPage(projectId, limit, cursor, user, authHeader));
+        }
+        return ResponseEntity.ok().eTag(etag).body(projectTaskManagementService.getProjectTasks(projectId, user, authHeader));
     }
 
     @PostMapping
@@ -44,6 +60,34 @@ public class ProjectTaskController {
         );
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse<ProjectTaskResponse>> createTasks(@PathVariable Long projectId,
+                                                                         @RequestBody List<CreateProjectTaskRequest> requests,
+                                                                         @RequestHeader("Authorization") String authHeader) throws Exception {
+        return ResponseEntity.ok(projectTaskManagementService.createTasks(projectId, requests, currentUser(authHeader), authHeader));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResponse<ProjectTaskResponse>> updateTasks(@PathVariable Long projectId,
+                                                                         @RequestBody List<BulkUpdateProjectTaskRequest> requests,
+                                                                         @RequestHeader("Authorization") String authHeader) throws Exception {
+        return ResponseEntity.ok(projectTaskManagementService.updateTasks(projectId, requests, currentUser(authHeader), authHeader));
+    }
+
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkResponse<ProjectTaskResponse>> updateTaskStatuses(@PathVariable Long projectId,
+                                                                                @RequestBody List<BulkProjectTaskStatusRequest> requests,
+                                                                                @RequestHeader("Authorization") String authHeader) throws Exception {
+        return ResponseEntity.ok(projectTaskManagementService.updateTaskStatuses(projectId, requests, currentUser(authHeader), authHeader));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResponse<ProjectTaskResponse>> deleteTasks(@PathVariable Long projectId,
+                                                                         @RequestBody List<Long> taskIds,
+                                                                         @RequestHeader("Authorization") String authHeader) throws Exception {
+        return ResponseEntity.ok(projectTaskManagementService.deleteTasks(projectId, taskIds, currentUser(authHeader)));
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<ProjectTaskResponse> updateTask(@PathVariable Long projectId,
                                                           @PathVariable Long taskId,
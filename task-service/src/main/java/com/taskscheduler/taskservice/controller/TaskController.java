@@ -1,13 +1,21 @@
 package com.taskscheduler.taskservice.controller;
 
+import com.taskscheduler.taskservice.dto.BulkResponse;
+import com.taskscheduler.taskservice.dto.NextTaskDTO;
+import com.taskscheduler.taskservice.dto.PageResponse;
 import com.taskscheduler.taskservice.dto.TaskDTO;
 import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.service.ChangeVersionService;
+import com.taskscheduler.taskservice.service.NextTaskService;
 import com.taskscheduler.taskservice.service.TaskService;
 import com.taskscheduler.taskservice.service.UserService;
+import com.taskscheduler.taskservice.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +30,14 @@ public class TaskController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private NextTaskService nextTaskService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    // A ResponseStatusException (503 while user-service is unavailable) keeps its status; handlers rethrow it
+    // instead of answering 401, which would log the client out
     private UserDTO getUserFromToken(String authHeader) throws Exception {
         return userService.getUserFromToken(authHeader);
     }
@@ -32,6 +48,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             TaskDTO savedTask = taskService.addTask(task, user.getId());
             return new ResponseEntity<>(savedTask, HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -39,12 +57,28 @@ public class TaskController {
         }
     }
 
+    // Without limit/cursor the full list is returned, as before; with either, one keyset page
     @GetMapping("/all")
-    public ResponseEntity<?> getAllTasks(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                         @RequestHeader("Authorization") String authHeader) {
         try {
             UserDTO user = getUserFromToken(authHeader);
+            String etag = changeVersionService.personalTasksTag(user.getId(), ETags.variant(limit, cursor));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            if (limit != null || cursor != null) {
+                PageResponse<TaskDTO> page = taskService.getTasksPageByUser(user.getId(), limit, cursor);
+                return ResponseEntity.ok().eTag(etag).body(page);
+            }
             List<TaskDTO> tasks = taskService.getAllTasksByUser(user.getId());
-            return new ResponseEntity<>(tasks, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag).body(tasks);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -62,6 +96,8 @@ public class TaskController {
             } else {
                 return new ResponseEntity<>("Task not found or access denied", HttpStatus.NOT_FOUND);
             }
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -79,6 +115,10 @@ public class TaskController {
             } else {
                 return new ResponseEntity<>("Task not found or access denied", HttpStatus.NOT_FOUND);
             }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Task was modified concurrently, reload and retry", HttpStatus.CONFLICT);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -96,6 +136,8 @@ public class TaskController {
             } else {
                 return new ResponseEntity<>("Task not found or access denied", HttpStatus.NOT_FOUND);
             }
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -114,6 +156,10 @@ public class TaskController {
             } else {
                 return new ResponseEntity<>("Task not found or access denied", HttpStatus.NOT_FOUND);
             }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Task was modified concurrently, reload and retry", HttpStatus.CONFLICT);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -121,12 +167,83 @@ public class TaskController {
         }
     }
 
+    // Bulk variants of add/edit/toggle/delete: one transaction per request, with a result per item in request order
+    @PostMapping("/bulk/add")
+    public ResponseEntity<?> addTasks(@RequestBody List<TaskDTO> body, @RequestHeader("Authorization") String authHeader) {
+        try {
+            UserDTO user = getUserFromToken(authHeader);
+            BulkResponse<TaskDTO> result = taskService.addTasks(body, user.getId());
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error adding tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/bulk/edit")
+    public ResponseEntity<?> updateTasks(@RequestBody List<TaskDTO> body, @RequestHeader("Authorization") String authHeader) {
+        try {
+            UserDTO user = getUserFromToken(authHeader);
+            BulkResponse<TaskDTO> result = taskService.updateTasks(body, user.getId());
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error updating tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/bulk/toggle")
+    public ResponseEntity<?> toggleTasks(@RequestBody List<Long> body, @RequestHeader("Authorization") String authHeader) {
+        try {
+            UserDTO user = getUserFromToken(authHeader);
+            BulkResponse<TaskDTO> result = taskService.toggleTasks(body, user.getId());
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error updating task statuses: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> deleteTasks(@RequestBody List<Long> body, @RequestHeader("Authorization") String authHeader) {
+        try {
+            UserDTO user = getUserFromToken(authHeader);
+            BulkResponse<TaskDTO> result = taskService.deleteTasks(body, user.getId());
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error deleting tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/status/{done}")
     public ResponseEntity<?> getTasksByStatus(@PathVariable boolean done, @RequestHeader("Authorization") String authHeader) {
         try {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getTasksByStatus(done, user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -140,6 +257,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getTasksByPriority(priority, user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -153,6 +272,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getTasksByCategory(category, user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -166,6 +287,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getOverdueTasks(user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -179,6 +302,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getTodayTasks(user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -192,6 +317,8 @@ public class TaskController {
             UserDTO user = getUserFromToken(authHeader);
             List<TaskDTO> tasks = taskService.getTasksStartingSoon(user.getId());
             return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
@@ -199,12 +326,31 @@ public class TaskController {
         }
     }
 
+    @GetMapping("/next")
+    public ResponseEntity<?> getNextTasks(@RequestParam(defaultValue = "10") int k,
+                                          @RequestParam(defaultValue = "false") boolean includeProjectTasks,
+                                          @RequestHeader("Authorization") String authHeader) {
+        try {
+            UserDTO user = getUserFromToken(authHeader);
+            List<NextTaskDTO> tasks = nextTaskService.getNextTasks(user.getId(), k, includeProjectTasks);
+            return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error fetching next tasks: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<?> getTaskStatistics(@RequestHeader("Authorization") String authHeader) {
         try {
             UserDTO user = getUserFromToken(authHeader);
             TaskService.TaskStatistics stats = taskService.getTaskStatistics(user.getId());
             return new ResponseEntity<>(stats, HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (RuntimeException e) {
             return new ResponseEntity<>("Authentication error: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
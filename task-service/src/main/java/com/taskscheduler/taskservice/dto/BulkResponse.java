@@ -0,0 +1,49 @@
+package com.taskscheduler.taskservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk request, one result per submitted item in request order
+public class BulkResponse<T> {
+    private int succeeded;
+    private int failed;
+    private List<Item<T>> results = new ArrayList<>();
+
+    public void ok(int index, Long id, T data) {
+        results.add(new Item<>(index, id, 200, null, data));
+        succeeded++;
+    }
+
+    public void fail(int index, Long id, int status, String error) {
+        results.add(new Item<>(index, id, status, error, null));
+        failed++;
+    }
+
+    // Getters
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public List<Item<T>> getResults() { return results; }
+
+    public static class Item<T> {
+        private final int index;
+        private final Long id;
+        private final int status;
+        private final String error;
+        private final T data;
+
+        public Item(int index, Long id, int status, String error, T data) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.error = error;
+            this.data = data;
+        }
+
+        // Getters
+        public int getIndex() { return index; }
+        public Long getId() { return id; }
+        public int getStatus() { return status; }
+        public String getError() { return error; }
+        public T getData() { return data; }
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskscheduler.taskservice.dto;
+
+// Payload of one /api/events message; data is null for deletions
+public class ChangeEvent {
+    private String type;
+    private Long id;
+    private Long projectId;
+    private Object data;
+
+    public ChangeEvent() {}
+
+    public ChangeEvent(String type, Long id, Long projectId, Object data) {
+        this.type = type;
+        this.id = id;
+        this.projectId = projectId;
+        this.data = data;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Object getData() { return data; }
+    public void setData(Object data) { this.data = data; }
+}
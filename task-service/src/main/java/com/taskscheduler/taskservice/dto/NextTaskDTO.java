@@ -0,0 +1,56 @@
+package com.taskscheduler.taskservice.dto;
+
+import java.time.LocalDateTime;
+
+public class NextTaskDTO {
+    public static final String SOURCE_TASK = "TASK";
+    public static final String SOURCE_PROJECT_TASK = "PROJECT_TASK";
+
+    private String source;
+    private Long id;
+    private Long projectId;
+    private String title;
+    private String priority;
+    private LocalDateTime due;
+    private boolean overdue;
+    private double score;
+
+    public NextTaskDTO() {}
+
+    public NextTaskDTO(String source, Long id, Long projectId, String title, String priority,
+                       LocalDateTime due, boolean overdue, double score) {
+        this.source = source;
+        this.id = id;
+        this.projectId = projectId;
+        this.title = title;
+        this.priority = priority;
+        this.due = due;
+        this.overdue = overdue;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public LocalDateTime getDue() { return due; }
+    public void setDue(LocalDateTime due) { this.due = due; }
+
+    public boolean isOverdue() { return overdue; }
+    public void setOverdue(boolean overdue) { this.overdue = overdue; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
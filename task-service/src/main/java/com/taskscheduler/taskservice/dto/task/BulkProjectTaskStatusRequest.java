@@ -0,0 +1,28 @@
+package com.taskscheduler.taskservice.dto.task;
+
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+public class BulkProjectTaskStatusRequest {
+    @NotNull
+    private Long taskId;
+
+    @NotNull
+    private ProjectTaskStatus status;
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public ProjectTaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProjectTaskStatus status) {
+        this.status = status;
+    }
+}
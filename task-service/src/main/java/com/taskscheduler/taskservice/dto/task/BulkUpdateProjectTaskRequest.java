@@ -0,0 +1,16 @@
+package com.taskscheduler.taskservice.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+
+public class BulkUpdateProjectTaskRequest extends UpdateProjectTaskRequest {
+    @NotNull
+    private Long taskId;
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+}
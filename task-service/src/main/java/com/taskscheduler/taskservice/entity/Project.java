@@ -11,6 +11,10 @@ public class Project {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false, length = 120)
     private String name;
 
@@ -26,6 +30,17 @@ public class Project {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Maintained only by TaskCounterService through bulk updates, never written from the entity
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long taskCount;
+
+    @Column(name = "completed_task_count", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long completedTaskCount;
+
+    // Bumped on every change visible in this project's responses, including counter moves; backs their ETags
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long changeVersion;
+
     public Project() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -44,6 +59,10 @@ public class Project {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -83,4 +102,16 @@ public class Project {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
 }
@@ -8,13 +8,18 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "project_members",
-        uniqueConstraints = @UniqueConstraint(name = "uk_project_member", columnNames = {"project_id", "user_id"})
+        uniqueConstraints = @UniqueConstraint(name = "uk_project_member", columnNames = {"project_id", "user_id"}),
+        indexes = @Index(name = "idx_project_members_user", columnList = "user_id")
 )
 public class ProjectMember {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -37,6 +42,10 @@ public class ProjectMember {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Project getProject() {
         return project;
     }
@@ -8,12 +8,25 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project_tasks")
+@Table(
+        name = "project_tasks",
+        indexes = {
+                @Index(name = "idx_project_tasks_project_status", columnList = "project_id, status"),
+                @Index(name = "idx_project_tasks_project_created", columnList = "project_id, created_at, id"),
+                @Index(name = "idx_project_tasks_assignee_status_due", columnList = "assigned_user_id, status, due_date")
+        }
+)
 public class ProjectTask {
+    // Pooled sequence ids keep bulk inserts batchable; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_tasks_seq")
+    @SequenceGenerator(name = "project_tasks_seq", sequenceName = "project_tasks_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -60,6 +73,10 @@ public class ProjectTask {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Project getProject() {
         return project;
     }
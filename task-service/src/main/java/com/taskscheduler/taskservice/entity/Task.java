@@ -1,15 +1,40 @@
 package com.taskscheduler.taskservice.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Check;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+        name = "tasks",
+        indexes = {
+                @Index(name = "idx_tasks_user_done_end", columnList = "user_id, done, end_time"),
+                @Index(name = "idx_tasks_user_start", columnList = "user_id, start_time"),
+                @Index(name = "idx_tasks_user_rank_end", columnList = "user_id, priority_rank, end_time, id"),
+                @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority"),
+                @Index(name = "idx_tasks_user_category", columnList = "user_id, category")
+        }
+)
+@Check(name = "ck_tasks_priority_rank", constraints = "priority_rank BETWEEN 1 AND 4")
 public class Task {
+    public static final int RANK_HIGH = 1;
+    public static final int RANK_MEDIUM = 2;
+    public static final int RANK_LOW = 3;
+    public static final int RANK_OTHER = 4;
+
+    // Pooled sequence ids keep bulk inserts batchable; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock; left null on new instances so Spring Data persists rather than merges them, and
+    // rows that predate the column start at 0 through its default
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false)
     private String description;
 
@@ -25,6 +50,11 @@ public class Task {
     @Column(nullable = false)
     private String priority = "Medium";
 
+    // Sort key derived from priority so lists can be ordered by (priority_rank, end_time) in SQL. The column default
+    // matches the "Medium" default above; SchemaMigrations ranks rows that predate the column.
+    @Column(name = "priority_rank", nullable = false, columnDefinition = "integer default 2")
+    private Integer priorityRank = RANK_MEDIUM;
+
     @Column(nullable = false)
     private String category = "Personal";
 
@@ -51,7 +81,7 @@ public class Task {
         this.startTime = startTime;
         this.endTime = endTime;
         this.done = false;
-        this.priority = "Medium";
+        setPriority("Medium");
         this.category = "Personal";
         this.userId = userId;
     }
@@ -60,6 +90,8 @@ public class Task {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
@@ -73,7 +105,12 @@ public class Task {
     public void setDone(Boolean done) { this.done = done; }
 
     public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    public void setPriority(String priority) {
+        this.priority = priority;
+        this.priorityRank = rankOf(priority);
+    }
+
+    public Integer getPriorityRank() { return priorityRank; }
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
@@ -90,9 +127,27 @@ public class Task {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    @PrePersist
+    public void prePersist() {
+        this.priorityRank = rankOf(priority);
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.priorityRank = rankOf(priority);
+    }
+
+    public static int rankOf(String priority) {
+        if (priority == null) {
+            return RANK_OTHER;
+        }
+        switch (priority) {
+            case "High": return RANK_HIGH;
+            case "Medium": return RANK_MEDIUM;
+            case "Low": return RANK_LOW;
+            default: return RANK_OTHER;
+        }
     }
 
     @Override
@@ -0,0 +1,59 @@
+package com.taskscheduler.taskservice.entity;
+
+import jakarta.persistence.*;
+
+// Per-user change counters behind the ETags of user-scoped listings; only ever incremented
+@Entity
+@Table(name = "user_change_versions")
+public class UserChangeVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Personal tasks
+    @Column(name = "tasks_version", nullable = false)
+    private long tasksVersion;
+
+    // The set of projects the user belongs to
+    @Column(name = "projects_version", nullable = false)
+    private long projectsVersion;
+
+    // Project tasks assigned to the user
+    @Column(name = "assigned_version", nullable = false)
+    private long assignedVersion;
+
+    public UserChangeVersion() {
+    }
+
+    public UserChangeVersion(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTasksVersion() {
+        return tasksVersion;
+    }
+
+    public void setTasksVersion(long tasksVersion) {
+        this.tasksVersion = tasksVersion;
+    }
+
+    public long getProjectsVersion() {
+        return projectsVersion;
+    }
+
+    public void setProjectsVersion(long projectsVersion) {
+        this.projectsVersion = projectsVersion;
+    }
+
+    public long getAssignedVersion() {
+        return assignedVersion;
+    }
+
+    public void setAssignedVersion(long assignedVersion) {
+        this.assignedVersion = assignedVersion;
+    }
+}
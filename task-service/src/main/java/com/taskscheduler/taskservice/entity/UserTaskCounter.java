@@ -0,0 +1,60 @@
+package com.taskscheduler.taskservice.entity;
+
+import jakarta.persistence.*;
+
+// Per-assignee project task counts by status, kept in step with project_tasks by TaskCounterService
+@Entity
+@Table(name = "user_task_counters")
+public class UserTaskCounter {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "todo_count", nullable = false)
+    private long todoCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+
+    public UserTaskCounter() {
+    }
+
+    public UserTaskCounter(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getTodoCount() {
+        return todoCount;
+    }
+
+    public void setTodoCount(long todoCount) {
+        this.todoCount = todoCount;
+    }
+
+    public long getInProgressCount() {
+        return inProgressCount;
+    }
+
+    public void setInProgressCount(long inProgressCount) {
+        this.inProgressCount = inProgressCount;
+    }
+
+    public long getDoneCount() {
+        return doneCount;
+    }
+
+    public void setDoneCount(long doneCount) {
+        this.doneCount = doneCount;
+    }
+}
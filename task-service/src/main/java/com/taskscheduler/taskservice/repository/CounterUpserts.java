@@ -0,0 +1,101 @@
+package com.taskscheduler.taskservice.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Adds to counter rows keyed by one id and creates the row on first use, in a single statement. An UPDATE followed by
+// an INSERT when nothing matched is not enough: two first writes for the same key both insert and one fails on the
+// primary key. Runs on the caller's transaction and connection.
+@Component
+public class CounterUpserts {
+
+    private static final String[] USER_TASK_COUNTER_COLUMNS = {"todo_count", "in_progress_count", "done_count"};
+
+    private static final String[] USER_CHANGE_VERSION_COLUMNS = {"tasks_version", "projects_version", "assigned_version"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema update has run before this bean is used
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String product;
+
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+    }
+
+    // A zero delta still creates and row-locks the counter, which TaskCounterService's repair relies on
+    public void addUserTaskCounts(Long userId, long todo, long inProgress, long done) {
+        add("user_task_counters", "user_id", userId, USER_TASK_COUNTER_COLUMNS, new long[]{todo, inProgress, done});
+    }
+
+    public void addUserChangeVersions(Long userId, long tasks, long projects, long assigned) {
+        add("user_change_versions", "user_id", userId, USER_CHANGE_VERSION_COLUMNS, new long[]{tasks, projects, assigned});
+    }
+
+    // New rows start from max(0, delta). Table and column names are constants of the callers, never request input.
+    private void add(String table, String keyColumn, Long key, String[] columns, long[] deltas) {
+        String sql = statements.computeIfAbsent(table, t -> statement(table, keyColumn, columns));
+        List<Object> args = new ArrayList<>();
+        args.add(key);
+        if (isMerge()) {
+            for (long delta : deltas) args.add(delta);
+            for (long delta : deltas) args.add(Math.max(0, delta));
+        } else {
+            for (long delta : deltas) args.add(Math.max(0, delta));
+            for (long delta : deltas) args.add(delta);
+        }
+        try {
+            jdbcTemplate.update(sql, args.toArray());
+        } catch (DuplicateKeyException e) {
+            if (!isMerge()) {
+                throw e;
+            }
+            // H2's MERGE is not atomic against a concurrent insert of the same key. The failed statement leaves the
+            // transaction usable there, and the row now exists, so the retry takes the update branch.
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    private boolean isMerge() {
+        return !"PostgreSQL".equals(product) && !"MySQL".equals(product) && !"MariaDB".equals(product);
+    }
+
+    private String statement(String table, String keyColumn, String[] columns) {
+        String columnList = String.join(", ", columns);
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        List<String> increments = new ArrayList<>();
+        if ("PostgreSQL".equals(product)) {
+            for (String column : columns) increments.add(column + " = " + table + "." + column + " + ?");
+            return "INSERT INTO " + table + " (" + keyColumn + ", " + columnList + ") VALUES (?, " + placeholders + ") "
+                    + "ON CONFLICT (" + keyColumn + ") DO UPDATE SET " + String.join(", ", increments);
+        }
+        if ("MySQL".equals(product) || "MariaDB".equals(product)) {
+            for (String column : columns) increments.add(column + " = " + column + " + ?");
+            return "INSERT INTO " + table + " (" + keyColumn + ", " + columnList + ") VALUES (?, " + placeholders + ") "
+                    + "ON DUPLICATE KEY UPDATE " + String.join(", ", increments);
+        }
+        // H2 and anything else speaking standard MERGE
+        for (String column : columns) increments.add(column + " = t." + column + " + ?");
+        return "MERGE INTO " + table + " t USING (VALUES (CAST(? AS BIGINT))) s(k) ON t." + keyColumn + " = s.k "
+                + "WHEN MATCHED THEN UPDATE SET " + String.join(", ", increments) + " "
+                + "WHEN NOT MATCHED THEN INSERT (" + keyColumn + ", " + columnList + ") VALUES (s.k, " + placeholders + ")";
+    }
+}
@@ -1,24 +1,67 @@
 package com.taskscheduler.taskservice.repository;
 
 import com.taskscheduler.taskservice.entity.ProjectMember;
+import com.taskscheduler.taskservice.entity.enums.ProjectRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Long> {
     Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
 
+    // Membership and its project in one joined select
+    @Query("SELECT m FROM ProjectMember m JOIN FETCH m.project p WHERE p.id = :projectId AND m.userId = :userId")
+    Optional<ProjectMember> findWithProjectByProjectIdAndUserId(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
     List<ProjectMember> findByProjectId(Long projectId);
 
+    long countByProjectId(Long projectId);
+
     List<ProjectMember> findByUserId(Long userId);
 
+    // Project list view: project columns, the viewer's role and the member count in one query
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.ownerId AS ownerId, " +
+            "p.taskCount AS taskCount, p.completedTaskCount AS completedTaskCount, p.createdAt AS createdAt, " +
+            "p.updatedAt AS updatedAt, m.role AS role, " +
+            "(SELECT count(other) FROM ProjectMember other WHERE other.project = p) AS memberCount " +
+            "FROM ProjectMember m JOIN m.project p WHERE m.userId = :userId ORDER BY p.updatedAt DESC, p.id DESC")
+    List<ProjectSummaryRow> findProjectSummariesByUserId(@Param("userId") Long userId);
+
     boolean existsByProjectIdAndUserId(Long projectId, Long userId);
 
+    // Progress for every project the user belongs to, read from the materialized counter columns
+    @Query("SELECT p.id AS projectId, p.name AS projectName, p.taskCount AS total, p.completedTaskCount AS completed " +
+            "FROM ProjectMember m JOIN m.project p WHERE m.userId = :userId ORDER BY p.id")
+    List<ProjectProgressRow> findProjectProgressByUserId(@Param("userId") Long userId);
+
     @Transactional
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
 
     @Transactional
     void deleteByProjectId(Long projectId);
+
+    interface ProjectSummaryRow {
+        Long getId();
+        String getName();
+        String getDescription();
+        Long getOwnerId();
+        Long getTaskCount();
+        Long getCompletedTaskCount();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        ProjectRole getRole();
+        Long getMemberCount();
+    }
+
+    interface ProjectProgressRow {
+        Long getProjectId();
+        String getProjectName();
+        Long getTotal();
+        Long getCompleted();
+    }
 }
@@ -2,6 +2,42 @@ package com.taskscheduler.taskservice.repository;
 
 import com.taskscheduler.taskservice.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    // Counter columns are only ever changed through these statements, so concurrent writers cannot lose updates.
+    // Native because Hibernate casts a parameter added to these columns to their columnDefinition, default clause
+    // included, which is not valid SQL.
+    @Modifying
+    @Query(value = "UPDATE projects SET task_count = task_count + :total, completed_task_count = completed_task_count + :completed, " +
+            "change_version = change_version + 1 WHERE id = :projectId", nativeQuery = true)
+    int applyTaskCountDelta(@Param("projectId") Long projectId, @Param("total") long total, @Param("completed") long completed);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.changeVersion = p.changeVersion + 1 WHERE p.id = :projectId")
+    int bumpChangeVersion(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.changeVersion FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findChangeVersionById(@Param("projectId") Long projectId);
+
+    // Every change version only grows, so the sum moves whenever any of the user's projects changes
+    @Query("SELECT COALESCE(SUM(p.changeVersion), 0) FROM ProjectMember m JOIN m.project p WHERE m.userId = :userId")
+    long sumChangeVersionsByMemberUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.taskCount = :total, p.completedTaskCount = :completed, p.changeVersion = p.changeVersion + 1 WHERE p.id = :projectId")
+    int setTaskCounts(@Param("projectId") Long projectId, @Param("total") long total, @Param("completed") long completed);
+
+    // Takes the row lock that counter writers queue on, without changing anything
+    @Modifying
+    @Query("UPDATE Project p SET p.taskCount = p.taskCount WHERE p.id = :projectId")
+    int lockTaskCounts(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
 }
@@ -1,20 +1,47 @@
 package com.taskscheduler.taskservice.repository;
 
 import com.taskscheduler.taskservice.entity.ProjectTask;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskPriority;
 import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectTaskRepository extends JpaRepository<ProjectTask, Long> {
     List<ProjectTask> findByProjectIdOrderByCreatedAtDesc(Long projectId);
 
+    // Scoped lookup compares the project_id column directly instead of navigating the lazy association
+    Optional<ProjectTask> findByIdAndProjectId(Long id, Long projectId);
+
+    List<ProjectTask> findByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    // Keyset pages over (created_at DESC, id DESC); the Pageable only carries the page size
+    List<ProjectTask> findByProjectIdOrderByCreatedAtDescIdDesc(Long projectId, Pageable pageable);
+
+    // The redundant createdAt <= :createdAt bound gives the planner a range on the index; the OR alone is not one
+    @Query("SELECT t FROM ProjectTask t WHERE t.project.id = :projectId AND t.createdAt <= :createdAt AND " +
+            "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+    List<ProjectTask> findPageBeforeByProjectId(@Param("projectId") Long projectId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
     long countByProjectId(Long projectId);
 
+    @Query("SELECT DISTINCT t.assignedUserId FROM ProjectTask t WHERE t.project.id = :projectId AND t.assignedUserId IS NOT NULL")
+    List<Long> findAssigneeIdsByProjectId(@Param("projectId") Long projectId);
+
     long countByProjectIdAndStatus(Long projectId, ProjectTaskStatus status);
 
     long countByAssignedUserId(Long assignedUserId);
@@ -27,6 +54,53 @@ public interface ProjectTaskRepository extends JpaRepository<ProjectTask, Long>
     @Query("SELECT t FROM ProjectTask t WHERE t.project.id = :projectId AND t.status <> com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus.DONE AND t.dueDate < :today ORDER BY t.dueDate ASC")
     List<ProjectTask> findOverdueByProject(@Param("projectId") Long projectId, @Param("today") LocalDate today);
 
+    // Open tasks assigned to the user as plain rows, streamed for the next-tasks ranking
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT t.id AS id, t.project.id AS projectId, t.title AS title, t.priority AS priority, t.dueDate AS dueDate " +
+            "FROM ProjectTask t WHERE t.assignedUserId = :userId AND t.status <> com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus.DONE")
+    Stream<OpenAssignedTaskRow> streamOpenByAssignedUserId(@Param("userId") Long userId);
+
+    // Source-of-truth aggregates used to rebuild and verify the materialized counters
+    @Query("SELECT t.project.id AS projectId, count(t) AS total, " +
+            "SUM(CASE WHEN t.status = com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus.DONE THEN 1 ELSE 0 END) AS completed " +
+            "FROM ProjectTask t GROUP BY t.project.id")
+    List<ProjectCountRow> countAllByProject();
+
+    @Query("SELECT t.assignedUserId AS userId, t.status AS status, count(t) AS total " +
+            "FROM ProjectTask t WHERE t.assignedUserId IS NOT NULL GROUP BY t.assignedUserId, t.status")
+    List<AssigneeStatusCountRow> countAllByAssigneeAndStatus();
+
+    @Query("SELECT t.assignedUserId AS userId, t.status AS status, count(t) AS total " +
+            "FROM ProjectTask t WHERE t.project.id = :projectId AND t.assignedUserId IS NOT NULL GROUP BY t.assignedUserId, t.status")
+    List<AssigneeStatusCountRow> countByAssigneeAndStatusForProject(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.assignedUserId AS userId, t.status AS status, count(t) AS total " +
+            "FROM ProjectTask t WHERE t.assignedUserId = :userId GROUP BY t.assignedUserId, t.status")
+    List<AssigneeStatusCountRow> countByStatusForAssignee(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT t.assignedUserId FROM ProjectTask t WHERE t.assignedUserId IS NOT NULL")
+    List<Long> findAllAssigneeIds();
+
     @Transactional
     void deleteByProjectId(Long projectId);
+
+    interface OpenAssignedTaskRow {
+        Long getId();
+        Long getProjectId();
+        String getTitle();
+        ProjectTaskPriority getPriority();
+        LocalDate getDueDate();
+    }
+
+    interface ProjectCountRow {
+        Long getProjectId();
+        Long getTotal();
+        Long getCompleted();
+    }
+
+    interface AssigneeStatusCountRow {
+        Long getUserId();
+        ProjectTaskStatus getStatus();
+        Long getTotal();
+    }
 }
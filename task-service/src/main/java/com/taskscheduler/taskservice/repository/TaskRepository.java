@@ -1,23 +1,50 @@
 package com.taskscheduler.taskservice.repository;
 
 import com.taskscheduler.taskservice.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    // Find all tasks for a specific user
-    List<Task> findByUserIdOrderByPriorityAscEndTimeAsc(Long userId);
+    // Find all tasks for a specific user, most urgent priority first (served by idx_tasks_user_rank_end)
+    List<Task> findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(Long userId);
+
+    // Keyset pages over (priority_rank, end_time, id); the Pageable only carries the page size
+    List<Task> findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(Long userId, Pageable pageable);
+
+    // The redundant priorityRank >= :rank bound gives the planner a range on the index; the OR alone is not one
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.priorityRank >= :rank AND (t.priorityRank > :rank OR (t.priorityRank = :rank AND " +
+            "(t.endTime > :endTime OR (t.endTime = :endTime AND t.id > :id)))) " +
+            "ORDER BY t.priorityRank, t.endTime, t.id")
+    List<Task> findPageAfterByUserId(@Param("userId") Long userId,
+                                     @Param("rank") int rank,
+                                     @Param("endTime") LocalDateTime endTime,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    // Open tasks as plain rows (not managed entities) so large candidate sets can be streamed in constant memory
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT t.id AS id, t.description AS description, t.priority AS priority, t.priorityRank AS priorityRank, t.endTime AS endTime " +
+            "FROM Task t WHERE t.userId = :userId AND t.done = false")
+    Stream<OpenTaskRow> streamOpenByUserId(@Param("userId") Long userId);
 
     // Find task by ID and user ID
     Optional<Task> findByIdAndUserId(Long id, Long userId);
 
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
     // Find tasks by status and user
     List<Task> findByDoneAndUserId(Boolean done, Long userId);
 
@@ -50,6 +77,34 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT count(t) FROM Task t WHERE t.userId = :userId AND t.startTime >= :start AND t.startTime <= :end")
     long countTasksBetweenByUserId(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    // One pass over the user's tasks: every statistics counter, broken down by priority and category
+    @Query("SELECT t.priority AS priority, t.category AS category, count(t) AS total, " +
+            "SUM(CASE WHEN t.done = true THEN 1 ELSE 0 END) AS completed, " +
+            "SUM(CASE WHEN t.startTime >= :start AND t.startTime <= :end THEN 1 ELSE 0 END) AS today, " +
+            "SUM(CASE WHEN t.done = false AND t.endTime < :currentTime THEN 1 ELSE 0 END) AS overdue " +
+            "FROM Task t WHERE t.userId = :userId GROUP BY t.priority, t.category")
+    List<TaskCountsRow> aggregateCountsByUserId(@Param("userId") Long userId,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end,
+                                                @Param("currentTime") LocalDateTime currentTime);
+
     // Check if task exists and belongs to user
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    interface TaskCountsRow {
+        String getPriority();
+        String getCategory();
+        Long getTotal();
+        Long getCompleted();
+        Long getToday();
+        Long getOverdue();
+    }
+
+    interface OpenTaskRow {
+        Long getId();
+        String getDescription();
+        String getPriority();
+        Integer getPriorityRank();
+        LocalDateTime getEndTime();
+    }
 }
@@ -0,0 +1,8 @@
+package com.taskscheduler.taskservice.repository;
+
+import com.taskscheduler.taskservice.entity.UserChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Versions are only read here; increments go through CounterUpserts
+public interface UserChangeVersionRepository extends JpaRepository<UserChangeVersion, Long> {
+}
@@ -0,0 +1,22 @@
+package com.taskscheduler.taskservice.repository;
+
+import com.taskscheduler.taskservice.entity.UserTaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UserTaskCounterRepository extends JpaRepository<UserTaskCounter, Long> {
+    @Modifying
+    @Query("UPDATE UserTaskCounter c SET c.todoCount = :todo, c.inProgressCount = :inProgress, c.doneCount = :done " +
+            "WHERE c.userId = :userId")
+    int setCounts(@Param("userId") Long userId,
+                  @Param("todo") long todo,
+                  @Param("inProgress") long inProgress,
+                  @Param("done") long done);
+
+    @Query("SELECT c.userId FROM UserTaskCounter c")
+    List<Long> findAllUserIds();
+}
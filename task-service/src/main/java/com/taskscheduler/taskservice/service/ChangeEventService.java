@@ -0,0 +1,442 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.ChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pushes task and project task changes to the affected users' /api/events streams once the writing transaction
+// commits. Streams live on this instance; each streaming user keeps a short history so a reconnect carrying
+// Last-Event-ID catches up, and a client that cannot be caught up is told to resync.
+@Service
+public class ChangeEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventService.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${events.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.sse.buffer-size:512}")
+    private int bufferSize;
+
+    @Value("${events.sse.history-size:256}")
+    private int historySize;
+
+    @Value("${events.sse.history-seconds:300}")
+    private long historySeconds;
+
+    @Value("${events.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${events.sse.dispatch-threads:8}")
+    private int dispatchThreads;
+
+    @Value("${events.sse.retry-ms:3000}")
+    private long retryMs;
+
+    @Value("${events.sse.send-timeout-ms:2000}")
+    private long sendTimeoutMs;
+
+    @Value("${events.sse.max-stalled-sends:64}")
+    private int maxStalledSends;
+
+    // Event ids are "<epoch>-<sequence>"; ids from an earlier run or another instance cannot be resumed
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Locks rather than monitors: request threads publish, and contending for a monitor pins a virtual thread
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    // Streams with a send() in flight, checked by expireStalledSends
+    private final Set<Connection> sending = ConcurrentHashMap.newKeySet();
+
+    // Sends written off by expireStalledSends that still hold their dispatch thread
+    private final AtomicInteger stalledSends = new AtomicInteger();
+
+    private final ReentrantLock resizeLock = new ReentrantLock();
+
+    private ExecutorService dispatcher;
+
+    private Counter evictions;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        // Platform threads even in virtual-thread mode: SseEmitter.send writes to the socket while holding the
+        // emitter's monitor, so a virtual sender would pin its carrier for as long as a slow client stalls it.
+        // A stalled send holds its thread until Tomcat's write timeout (server.tomcat.connection-timeout) fails it;
+        // expireStalledSends drops such a stream early and adds a thread in its place until the send returns.
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-dispatch-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("events.sse.connections", openConnections);
+        evictions = meterRegistry.counter("events.sse.evictions");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(channel -> channel.connections.forEach(Connection::complete));
+        dispatcher.shutdownNow();
+    }
+
+    public void taskChanged(Long userId, String action, Long taskId, Object data) {
+        publish(List.of(userId), new ChangeEvent("task." + action, taskId, null, data));
+    }
+
+    public void projectTaskChanged(Collection<Long> memberIds, String action, Long projectId, Long taskId, Object data) {
+        publish(memberIds, new ChangeEvent("project-task." + action, taskId, projectId, data));
+    }
+
+    // Delivered after commit so listeners never see a change that was rolled back
+    public void publish(Collection<Long> userIds, ChangeEvent event) {
+        List<Long> recipients = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (recipients.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(recipients, event);
+                }
+            });
+        } else {
+            deliver(recipients, event);
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(() -> remove(userId, connection));
+        emitter.onTimeout(() -> remove(userId, connection));
+        emitter.onError(error -> remove(userId, connection));
+        openConnections.incrementAndGet();
+
+        while (true) {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel(currentSequence()));
+            channel.lock.lock();
+            try {
+                if (channel.removed) {
+                    continue;
+                }
+                connection.offer(Message.hello());
+                if (lastEventId != null && !lastEventId.isBlank()) {
+                    replay(channel, connection, lastEventId);
+                }
+                channel.connections.add(connection);
+                while (channel.connections.size() > maxConnectionsPerUser) {
+                    channel.connections.remove(0).evict();
+                }
+                return emitter;
+            } finally {
+                channel.lock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.sse.heartbeat-ms:15000}")
+    void heartbeat() {
+        long now = System.nanoTime();
+        channels.forEach((userId, channel) -> {
+            channel.lock.lock();
+            try {
+                channel.prune(now);
+                channel.connections.removeIf(connection -> connection.closed);
+                channel.connections.forEach(connection -> connection.offer(Message.HEARTBEAT));
+                if (channel.connections.isEmpty() && now - channel.idleSince > TimeUnit.SECONDS.toNanos(historySeconds)) {
+                    channel.removed = true;
+                    channels.remove(userId, channel);
+                }
+            } finally {
+                channel.lock.unlock();
+            }
+        });
+    }
+
+    // A send that outlasts send-timeout-ms is a client that stopped reading. Its stream is dropped (the client resumes
+    // or resyncs on reconnect) and, up to max-stalled-sends, the pool gets a thread for each send still blocked, so
+    // a few half-dead clients cannot hold every dispatch thread while healthy streams wait behind them.
+    @Scheduled(fixedDelayString = "${events.sse.send-check-ms:500}")
+    void expireStalledSends() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Connection connection : sending) {
+            long started = connection.sendStartedAt.get();
+            if (started != Connection.IDLE && started != Connection.STALLED && started - deadline < 0
+                    && connection.sendStartedAt.compareAndSet(started, Connection.STALLED)) {
+                evictions.increment();
+                log.debug("Dropping event stream stalled in send for over {} ms", sendTimeoutMs);
+                connection.closed = true;
+                connection.queue.clear();
+                stalledSends.incrementAndGet();
+                resizeDispatcher();
+            }
+        }
+    }
+
+    private void resizeDispatcher() {
+        if (!(dispatcher instanceof ThreadPoolExecutor pool)) {
+            return;
+        }
+        resizeLock.lock();
+        try {
+            int size = dispatchThreads + Math.min(Math.max(stalledSends.get(), 0), maxStalledSends);
+            if (size > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(size);
+                pool.setCorePoolSize(size);
+            } else if (size < pool.getMaximumPoolSize()) {
+                pool.setCorePoolSize(size);
+                pool.setMaximumPoolSize(size);
+            }
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    private void deliver(List<Long> recipients, ChangeEvent event) {
+        // One lock keeps sequence order and delivery order identical, which Last-Event-ID replay relies on;
+        // everything inside only enqueues
+        deliveryLock.lock();
+        try {
+            long seq = sequence.incrementAndGet();
+            Message message = new Message(seq, epoch + "-" + seq, event, System.nanoTime());
+            for (Long userId : recipients) {
+                Channel channel = channels.get(userId);
+                if (channel != null) {
+                    channel.lock.lock();
+                    try {
+                        channel.append(message);
+                    } finally {
+                        channel.lock.unlock();
+                    }
+                }
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    private void replay(Channel channel, Connection connection, String lastEventId) {
+        Long resumeAfter = parseSequence(lastEventId);
+        if (resumeAfter == null || resumeAfter < channel.floor) {
+            connection.offer(new Message(0, epoch + "-" + currentSequence(), new ChangeEvent("resync", null, null, null), System.nanoTime()));
+            return;
+        }
+        for (Message message : channel.history) {
+            if (message.seq > resumeAfter) {
+                connection.offer(message);
+            }
+        }
+    }
+
+    private Long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private long currentSequence() {
+        return sequence.get();
+    }
+
+    private void remove(Long userId, Connection connection) {
+        if (!connection.released.compareAndSet(false, true)) {
+            return;
+        }
+        connection.closed = true;
+        openConnections.decrementAndGet();
+        Channel channel = channels.get(userId);
+        if (channel != null) {
+            channel.lock.lock();
+            try {
+                channel.connections.remove(connection);
+                if (channel.connections.isEmpty()) {
+                    channel.idleSince = System.nanoTime();
+                }
+            } finally {
+                channel.lock.unlock();
+            }
+        }
+    }
+
+    private final class Channel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Message> history = new ArrayDeque<>();
+        private final List<Connection> connections = new CopyOnWriteArrayList<>();
+        // Newest sequence this channel can no longer replay
+        private long floor;
+        private long idleSince = System.nanoTime();
+        private boolean removed;
+
+        private Channel(long floor) {
+            this.floor = floor;
+        }
+
+        private void append(Message message) {
+            history.addLast(message);
+            while (history.size() > historySize) {
+                floor = history.removeFirst().seq;
+            }
+            connections.forEach(connection -> connection.offer(message));
+        }
+
+        private void prune(long now) {
+            long maxAge = TimeUnit.SECONDS.toNanos(historySeconds);
+            while (!history.isEmpty() && now - history.peekFirst().createdAt > maxAge) {
+                floor = history.removeFirst().seq;
+            }
+        }
+    }
+
+    // Each stream drains its own bounded queue on the dispatch pool, so a slow client never blocks publishers;
+    // when its queue overflows it is dropped and will resume or resync on reconnect
+    private final class Connection {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        // Held by the one drain in flight; a drain that finds the stream closed completes it and keeps holding it
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        // Start of the send() in flight, IDLE between sends, or STALLED once expireStalledSends has written it off;
+        // the drain stuck in that send() gives the extra thread back when it returns
+        private static final long IDLE = Long.MIN_VALUE;
+        private static final long STALLED = Long.MIN_VALUE + 1;
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                evict();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Message message;
+                while (!closed && (message = queue.poll()) != null) {
+                    sendStartedAt.set(System.nanoTime());
+                    sending.add(this);
+                    try {
+                        emitter.send(message.toSse(retryMs));
+                    } catch (IOException | IllegalStateException e) {
+                        closed = true;
+                    } finally {
+                        sending.remove(this);
+                        if (sendStartedAt.getAndSet(IDLE) == STALLED) {
+                            stalledSends.decrementAndGet();
+                            resizeDispatcher();
+                        }
+                    }
+                }
+                if (closed) {
+                    complete();
+                    return;
+                }
+                draining.set(false);
+                // closed is re-read after the release: an evict() that lost the race for draining set it before
+            } while ((closed || !queue.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        // Runs on the publisher's thread under the delivery and channel locks, so it only marks the stream; the
+        // emitter is completed by the dispatcher, which may be blocked in send() right now
+        private void evict() {
+            if (!closed) {
+                evictions.increment();
+                log.debug("Dropping slow event stream with {} queued events", queue.size());
+                closed = true;
+                queue.clear();
+                schedule();
+            }
+        }
+
+        private void complete() {
+            closed = true;
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private record Message(long seq, String id, ChangeEvent event, long createdAt) {
+        private static final Message HEARTBEAT = new Message(0, null, null, 0);
+
+        // First frame of every stream: flushes headers through proxies and sets the client's reconnect delay
+        private static Message hello() {
+            return new Message(-1, null, null, 0);
+        }
+
+        private SseEmitter.SseEventBuilder toSse(long retryMs) {
+            if (event == null) {
+                return seq < 0 ? SseEmitter.event().reconnectTime(retryMs).comment("connected") : SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(id).name(event.getType()).data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.entity.UserChangeVersion;
+import com.taskscheduler.taskservice.repository.CounterUpserts;
+import com.taskscheduler.taskservice.repository.ProjectRepository;
+import com.taskscheduler.taskservice.repository.UserChangeVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+// Cheap "last modified" versions for polled listings. Writers bump them in their own transaction, after the data
+// change, and readers build an ETag from them without loading the listing itself.
+@Service
+@Transactional
+public class ChangeVersionService {
+
+    @Autowired
+    private UserChangeVersionRepository userChangeVersionRepository;
+
+    // A first bump for a user creates the row in the same statement, so concurrent first writers cannot collide
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    public void personalTasksChanged(Long userId) {
+        counterUpserts.addUserChangeVersions(userId, 1, 0, 0);
+    }
+
+    public void membershipsChanged(Long userId) {
+        counterUpserts.addUserChangeVersions(userId, 0, 1, 0);
+    }
+
+    public void assignedTasksChanged(Collection<Long> userIds) {
+        userIds.stream().filter(Objects::nonNull).distinct().forEach(userId -> counterUpserts.addUserChangeVersions(userId, 0, 0, 1));
+    }
+
+    // Task counter updates bump the project as well; this covers edits that leave the counters alone
+    public void projectChanged(Long projectId) {
+        projectRepository.bumpChangeVersion(projectId);
+    }
+
+    @Transactional(readOnly = true)
+    public String personalTasksTag(Long userId, String variant) {
+        return tag("t", userVersion(userId).getTasksVersion() + variant);
+    }
+
+    @Transactional(readOnly = true)
+    public String projectsTag(Long userId) {
+        return tag("p", userVersion(userId).getProjectsVersion() + "." + projectRepository.sumChangeVersionsByMemberUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> projectTasksTag(Long projectId, String variant) {
+        return projectRepository.findChangeVersionById(projectId).map(version -> tag("pt" + projectId, version + variant));
+    }
+
+    // Overdue counts move with the date, so the day is part of the tag
+    @Transactional(readOnly = true)
+    public String dashboardTag(Long userId) {
+        UserChangeVersion version = userVersion(userId);
+        return tag("d", LocalDate.now() + "." + version.getAssignedVersion() + "." + version.getProjectsVersion()
+                + "." + projectRepository.sumChangeVersionsByMemberUserId(userId));
+    }
+
+    private UserChangeVersion userVersion(Long userId) {
+        return userChangeVersionRepository.findById(userId).orElseGet(() -> new UserChangeVersion(userId));
+    }
+
+    private static String tag(String kind, String value) {
+        return "W/\"" + kind + "-" + value + "\"";
+    }
+}
@@ -2,23 +2,22 @@ package com.taskscheduler.taskservice.service;
 
 import com.taskscheduler.taskservice.dto.UserDTO;
 import com.taskscheduler.taskservice.dto.dashboard.DashboardResponse;
-import com.taskscheduler.taskservice.entity.Project;
-import com.taskscheduler.taskservice.entity.ProjectMember;
-import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import com.taskscheduler.taskservice.entity.UserTaskCounter;
 import com.taskscheduler.taskservice.repository.ProjectMemberRepository;
 import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
+import com.taskscheduler.taskservice.repository.UserTaskCounterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+// Not transactional: the three reads are independent and each takes its own read-only transaction through
+// ParallelReads, concurrently when that is enabled
 @Service
-@Transactional(readOnly = true)
 public class DashboardService {
 
     @Autowired
@@ -27,39 +26,42 @@ public class DashboardService {
     @Autowired
     private ProjectMemberRepository projectMemberRepository;
 
-    public DashboardResponse getDashboard(UserDTO currentUser) {
-        DashboardResponse response = new DashboardResponse();
+    @Autowired
+    private UserTaskCounterRepository userTaskCounterRepository;
 
-        long totalAssigned = projectTaskRepository.countByAssignedUserId(currentUser.getId());
-        long todo = projectTaskRepository.countByAssignedUserIdAndStatus(currentUser.getId(), ProjectTaskStatus.TODO);
-        long inProgress = projectTaskRepository.countByAssignedUserIdAndStatus(currentUser.getId(), ProjectTaskStatus.IN_PROGRESS);
-        long done = projectTaskRepository.countByAssignedUserIdAndStatus(currentUser.getId(), ProjectTaskStatus.DONE);
-        long overdue = projectTaskRepository.countOverdueByAssignedUserId(currentUser.getId(), LocalDate.now());
+    @Autowired
+    private ParallelReads parallelReads;
 
-        response.setTotalAssignedTasks(totalAssigned);
-        response.setTodoTasks(todo);
-        response.setInProgressTasks(inProgress);
-        response.setDoneTasks(done);
-        response.setOverdueTasks(overdue);
-        response.setProjectProgress(getProjectProgress(currentUser));
-        return response;
-    }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DashboardResponse getDashboard(UserDTO currentUser) {
+        Long userId = currentUser.getId();
+        try (ParallelReads.Scope reads = parallelReads.open()) {
+            ParallelReads.Branch<UserTaskCounter> counterRead = reads.fork(() ->
+                    userTaskCounterRepository.findById(userId).orElseGet(() -> new UserTaskCounter(userId)));
+            // Overdue depends on the current date, so it is still counted from project_tasks
+            ParallelReads.Branch<Long> overdueRead = reads.fork(() ->
+                    projectTaskRepository.countOverdueByAssignedUserId(userId, LocalDate.now()));
+            ParallelReads.Branch<List<DashboardResponse.ProjectProgress>> progressRead = reads.fork(() -> getProjectProgress(userId));
 
-    private List<DashboardResponse.ProjectProgress> getProjectProgress(UserDTO currentUser) {
-        List<ProjectMember> memberships = projectMemberRepository.findByUserId(currentUser.getId());
-        Map<Long, Project> dedup = new LinkedHashMap<>();
-        for (ProjectMember membership : memberships) {
-            dedup.put(membership.getProject().getId(), membership.getProject());
+            DashboardResponse response = new DashboardResponse();
+            UserTaskCounter counter = counterRead.join();
+            response.setTotalAssignedTasks(counter.getTodoCount() + counter.getInProgressCount() + counter.getDoneCount());
+            response.setTodoTasks(counter.getTodoCount());
+            response.setInProgressTasks(counter.getInProgressCount());
+            response.setDoneTasks(counter.getDoneCount());
+            response.setOverdueTasks(overdueRead.join());
+            response.setProjectProgress(progressRead.join());
+            return response;
         }
+    }
 
-        return dedup.values().stream().map(project -> {
+    private List<DashboardResponse.ProjectProgress> getProjectProgress(Long userId) {
+        return projectMemberRepository.findProjectProgressByUserId(userId).stream().map(row -> {
             DashboardResponse.ProjectProgress progress = new DashboardResponse.ProjectProgress();
-            long total = projectTaskRepository.countByProjectId(project.getId());
-            long completed = projectTaskRepository.countByProjectIdAndStatus(project.getId(), ProjectTaskStatus.DONE);
-            progress.setProjectId(project.getId());
-            progress.setProjectName(project.getName());
-            progress.setTotalTasks(total);
-            progress.setCompletedTasks(completed);
+            progress.setProjectId(row.getProjectId());
+            progress.setProjectName(row.getProjectName());
+            progress.setTotalTasks(row.getTotal());
+            progress.setCompletedTasks(row.getCompleted());
             return progress;
         }).collect(Collectors.toList());
     }
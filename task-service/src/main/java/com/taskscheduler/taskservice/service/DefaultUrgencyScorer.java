@@ -0,0 +1,28 @@
+package com.taskscheduler.taskservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Priority weight plus a deadline term that grows as the due time approaches and keeps growing (slowly) once overdue
+@Component
+public class DefaultUrgencyScorer implements UrgencyScorer {
+
+    private static final double[] PRIORITY_WEIGHT = {0, 3.0, 2.0, 1.0, 0.5};
+
+    private static final double DEADLINE_WEIGHT = 3.0;
+
+    @Override
+    public double score(int priorityRank, LocalDateTime due, LocalDateTime now) {
+        double priority = PRIORITY_WEIGHT[Math.max(1, Math.min(priorityRank, 4))];
+        if (due == null) {
+            return priority;
+        }
+        double hoursLeft = Duration.between(now, due).toMinutes() / 60.0;
+        double deadline = hoursLeft < 0
+                ? 1.0 + Math.min(-hoursLeft / 24.0, 7.0) * 0.1
+                : 1.0 / (1.0 + hoursLeft / 24.0);
+        return priority + DEADLINE_WEIGHT * deadline;
+    }
+}
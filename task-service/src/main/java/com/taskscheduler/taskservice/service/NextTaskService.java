@@ -0,0 +1,92 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.NextTaskDTO;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskPriority;
+import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
+import com.taskscheduler.taskservice.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+// Top-K most urgent open tasks: candidates are streamed and kept in a min-heap of size k, O(n log k) with O(k) memory
+@Service
+@Transactional(readOnly = true)
+public class NextTaskService {
+
+    public static final int MAX_K = 100;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskRepository projectTaskRepository;
+
+    @Autowired
+    private UrgencyScorer urgencyScorer;
+
+    public List<NextTaskDTO> getNextTasks(Long userId, int k, boolean includeProjectTasks) {
+        int size = Math.max(1, Math.min(k, MAX_K));
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<NextTaskDTO> heap = new PriorityQueue<>(size + 1, Comparator.comparingDouble(NextTaskDTO::getScore));
+
+        try (Stream<TaskRepository.OpenTaskRow> rows = taskRepository.streamOpenByUserId(userId)) {
+            rows.forEach(row -> {
+                int rank = row.getPriorityRank() == null ? 4 : row.getPriorityRank();
+                double score = urgencyScorer.score(rank, row.getEndTime(), now);
+                if (qualifies(heap, size, score)) {
+                    offer(heap, size, new NextTaskDTO(NextTaskDTO.SOURCE_TASK, row.getId(), null, row.getDescription(),
+                            row.getPriority(), row.getEndTime(), row.getEndTime().isBefore(now), score));
+                }
+            });
+        }
+
+        if (includeProjectTasks) {
+            try (Stream<ProjectTaskRepository.OpenAssignedTaskRow> rows = projectTaskRepository.streamOpenByAssignedUserId(userId)) {
+                rows.forEach(row -> {
+                    // A project task is due at the end of its due date, matching the dashboard's overdue count
+                    LocalDateTime due = row.getDueDate() == null ? null : row.getDueDate().atTime(LocalTime.MAX);
+                    double score = urgencyScorer.score(rankOf(row.getPriority()), due, now);
+                    if (qualifies(heap, size, score)) {
+                        offer(heap, size, new NextTaskDTO(NextTaskDTO.SOURCE_PROJECT_TASK, row.getId(), row.getProjectId(), row.getTitle(),
+                                row.getPriority() == null ? null : row.getPriority().name(), due, due != null && due.isBefore(now), score));
+                    }
+                });
+            }
+        }
+
+        List<NextTaskDTO> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(NextTaskDTO::getScore).reversed());
+        return result;
+    }
+
+    private static boolean qualifies(PriorityQueue<NextTaskDTO> heap, int size, double score) {
+        return heap.size() < size || score > heap.peek().getScore();
+    }
+
+    private static void offer(PriorityQueue<NextTaskDTO> heap, int size, NextTaskDTO candidate) {
+        heap.offer(candidate);
+        if (heap.size() > size) {
+            heap.poll();
+        }
+    }
+
+    private static int rankOf(ProjectTaskPriority priority) {
+        if (priority == null) {
+            return 4;
+        }
+        switch (priority) {
+            case HIGH: return 1;
+            case MEDIUM: return 2;
+            case LOW: return 3;
+            default: return 4;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.config.ReadWriteRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs independent reads side by side, each in its own read-only transaction and therefore on its own pooled
+// connection. At most max-concurrent branches run at once across the service (by default half the Hikari pool),
+// so fan-out cannot starve ordinary requests of connections. A branch that finds no free slot, or any branch of a
+// caller that already holds a transaction, runs inline on the caller instead of waiting.
+@Component
+public class ParallelReads {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${parallel-reads.enabled:false}")
+    private boolean enabled;
+
+    // 0 means half of spring.datasource.hikari.maximum-pool-size
+    @Value("${parallel-reads.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${parallel-reads.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private Semaphore slots;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        int size = maxConcurrent > 0 ? maxConcurrent : Math.max(1, poolSize / 2);
+        slots = new Semaphore(size);
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "parallel-read-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        // Also becomes the JPA query timeout, so a timed-out branch's statement is cancelled by the database
+        readTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    // Closing the scope cancels branches that were never joined
+    public final class Scope implements AutoCloseable {
+        private final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        private final boolean parallel = enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+        private final List<FutureTask<?>> started = new ArrayList<>();
+
+        private Scope() {
+        }
+
+        public <T> Branch<T> fork(Supplier<T> read) {
+            if (!parallel || !slots.tryAcquire()) {
+                return new Branch<>(this, null, read);
+            }
+            // The branch routes like its caller: a client that just wrote keeps reading from the primary
+            String clientKey = ReadWriteRoutingDataSource.currentClientKey();
+            // Whichever of the body and done() claims this first releases the slot: the body once the worker has
+            // actually stopped, even when cancel(true) interrupted it, and done() only if the body never ran
+            AtomicBoolean claimed = new AtomicBoolean();
+            FutureTask<T> task = new FutureTask<>(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                ReadWriteRoutingDataSource.setClientKey(clientKey);
+                try {
+                    return readTransaction.execute(status -> read.get());
+                } finally {
+                    ReadWriteRoutingDataSource.clearClientKey();
+                    slots.release();
+                }
+            }) {
+                @Override
+                protected void done() {
+                    if (claimed.compareAndSet(false, true)) {
+                        slots.release();
+                    }
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                return new Branch<>(this, null, read);
+            }
+            started.add(task);
+            return new Branch<>(this, task, read);
+        }
+
+        @Override
+        public void close() {
+            started.forEach(task -> task.cancel(true));
+        }
+
+        private <T> T inline(Supplier<T> read) {
+            return readTransaction.execute(status -> read.get());
+        }
+    }
+
+    public static final class Branch<T> {
+        private final Scope scope;
+        private final FutureTask<T> task;
+        private final Supplier<T> read;
+
+        private Branch(Scope scope, FutureTask<T> task, Supplier<T> read) {
+            this.scope = scope;
+            this.task = task;
+            this.read = read;
+        }
+
+        public T join() {
+            if (task == null) {
+                return scope.inline(read);
+            }
+            try {
+                return task.get(Math.max(0, scope.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                scope.close();
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                scope.close();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Timed out reading data, please retry");
+            } catch (InterruptedException e) {
+                scope.close();
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while reading data");
+            }
+        }
+    }
+}
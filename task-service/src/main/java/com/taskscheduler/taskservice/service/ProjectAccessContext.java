@@ -0,0 +1,28 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.entity.Project;
+import com.taskscheduler.taskservice.entity.enums.ProjectRole;
+
+// The caller's resolved access to one project: resolved once per request and passed along instead of re-queried
+public class ProjectAccessContext {
+    private final Project project;
+    private final ProjectRole role;
+
+    // project may be an uninitialized reference when the role came from the cache; it loads on first use
+    public ProjectAccessContext(Project project, ProjectRole role) {
+        this.project = project;
+        this.role = role;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public ProjectRole getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return role == ProjectRole.ADMIN;
+    }
+}
@@ -1,15 +1,26 @@
 package com.taskscheduler.taskservice.service;
 
+import com.taskscheduler.taskservice.cache.ProjectRoleCache;
+import com.taskscheduler.taskservice.config.ReadWriteRoutingDataSource;
 import com.taskscheduler.taskservice.entity.Project;
 import com.taskscheduler.taskservice.entity.ProjectMember;
 import com.taskscheduler.taskservice.entity.enums.ProjectRole;
 import com.taskscheduler.taskservice.repository.ProjectMemberRepository;
 import com.taskscheduler.taskservice.repository.ProjectRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 @Service
 public class ProjectAccessService {
 
@@ -19,6 +30,24 @@ public class ProjectAccessService {
     @Autowired
     private ProjectMemberRepository projectMemberRepository;
 
+    @Autowired
+    private ProjectRoleCache projectRoleCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.datasource.replica.url:}")
+    private String replicaUrl;
+
+    private TransactionTemplate primaryReads;
+
+    @PostConstruct
+    void init() {
+        // A separate read-write transaction is routed to the primary
+        primaryReads = new TransactionTemplate(transactionManager);
+        primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     public Project getProjectOrThrow(Long projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
@@ -29,14 +58,63 @@ public class ProjectAccessService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not a member of this project"));
     }
 
-    public ProjectRole ensureMemberAndGetRole(Long projectId, Long userId) {
-        return getMembershipOrThrow(projectId, userId).getRole();
+    // Served from the role cache when possible; a miss costs one joined query, plus an existence check for non-members
+    public ProjectAccessContext resolveAccess(Long projectId, Long userId) {
+        AtomicReference<Project> loadedProject = new AtomicReference<>();
+        ProjectRoleCache.Access access = projectRoleCache.get(projectId, userId, () -> {
+            // Cached roles gate writes, so a miss is never answered by a possibly lagging replica
+            if (mayReadFromReplica()) {
+                return primaryReads.execute(status -> loadAccess(projectId, userId, new AtomicReference<>()));
+            }
+            return loadAccess(projectId, userId, loadedProject);
+        });
+
+        if (!access.projectExists()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+        }
+        if (!access.isMember()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not a member of this project");
+        }
+        Project project = loadedProject.get() != null ? loadedProject.get() : projectRepository.getReferenceById(projectId);
+        return new ProjectAccessContext(project, access.role());
     }
 
-    public void ensureAdmin(Long projectId, Long userId) {
-        ProjectRole role = ensureMemberAndGetRole(projectId, userId);
-        if (role != ProjectRole.ADMIN) {
+    private ProjectRoleCache.Access loadAccess(Long projectId, Long userId, AtomicReference<Project> loadedProject) {
+        Optional<ProjectMember> membership = projectMemberRepository.findWithProjectByProjectIdAndUserId(projectId, userId);
+        if (membership.isPresent()) {
+            loadedProject.set(membership.get().getProject());
+            return new ProjectRoleCache.Access(membership.get().getRole(), true);
+        }
+        return new ProjectRoleCache.Access(null, projectRepository.existsById(projectId));
+    }
+
+    // Outside any transaction the repositories' own read-only transactions would be routed to the replica. A
+    // read-only transaction that already holds a primary connection (read-your-writes, lag fallback) is read in place:
+    // a second primary transaction from inside it would need another connection while holding one.
+    private boolean mayReadFromReplica() {
+        if (replicaUrl.isEmpty()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && ReadWriteRoutingDataSource.currentTarget() != ReadWriteRoutingDataSource.Target.PRIMARY;
+    }
+
+    public ProjectAccessContext resolveAdminAccess(Long projectId, Long userId) {
+        ProjectAccessContext access = resolveAccess(projectId, userId);
+        if (!access.isAdmin()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin role required");
         }
+        return access;
+    }
+
+    public ProjectRole ensureMemberAndGetRole(Long projectId, Long userId) {
+        return resolveAccess(projectId, userId).getRole();
+    }
+
+    public void ensureAdmin(Long projectId, Long userId) {
+        resolveAdminAccess(projectId, userId);
     }
 }
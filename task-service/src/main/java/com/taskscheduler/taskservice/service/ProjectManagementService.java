@@ -1,24 +1,24 @@
 package com.taskscheduler.taskservice.service;
 
+import com.taskscheduler.taskservice.cache.ProjectRoleCache;
 import com.taskscheduler.taskservice.dto.UserDTO;
 import com.taskscheduler.taskservice.dto.project.*;
 import com.taskscheduler.taskservice.entity.Project;
 import com.taskscheduler.taskservice.entity.ProjectMember;
 import com.taskscheduler.taskservice.entity.enums.ProjectRole;
-import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
 import com.taskscheduler.taskservice.repository.ProjectMemberRepository;
 import com.taskscheduler.taskservice.repository.ProjectRepository;
 import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +40,18 @@ public class ProjectManagementService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private ProjectRoleCache projectRoleCache;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private ParallelReads parallelReads;
+
     public ProjectResponse createProject(CreateProjectRequest request, UserDTO currentUser) {
         Project project = new Project();
         project.setName(request.getName().trim());
@@ -52,50 +64,59 @@ public class ProjectManagementService {
         ownerMember.setUserId(currentUser.getId());
         ownerMember.setRole(ProjectRole.ADMIN);
         projectMemberRepository.save(ownerMember);
+        // A probe of this id before it existed may have cached "Project not found"
+        projectRoleCache.invalidateProject(project.getId());
+        changeVersionService.membershipsChanged(currentUser.getId());
 
-        return toProjectResponse(project, currentUser.getId(), null, false);
+        return toProjectResponse(project, ProjectRole.ADMIN, null, null);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getMyProjects(UserDTO currentUser) {
-        List<ProjectMember> memberships = projectMemberRepository.findByUserId(currentUser.getId());
-
-        Map<Long, Project> dedup = new LinkedHashMap<>();
-        for (ProjectMember membership : memberships) {
-            dedup.put(membership.getProject().getId(), membership.getProject());
-        }
-
-        return dedup.values().stream()
-                .sorted(Comparator.comparing(Project::getUpdatedAt).reversed())
-                .map(project -> toProjectResponse(project, currentUser.getId(), null, false))
+        // uk_project_member guarantees one row per project, already ordered by updatedAt
+        return projectMemberRepository.findProjectSummariesByUserId(currentUser.getId()).stream()
+                .map(this::toProjectResponse)
                 .collect(Collectors.toList());
     }
 
+    // No surrounding transaction: after the access check the project row and member list are independent reads,
+    // run side by side when parallel-reads is enabled
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProjectResponse getProject(Long projectId, UserDTO currentUser, String authHeader) {
-        projectAccessService.getProjectOrThrow(projectId);
-        projectAccessService.ensureMemberAndGetRole(projectId, currentUser.getId());
-        return toProjectResponse(projectRepository.getReferenceById(projectId), currentUser.getId(), authHeader, true);
+        ProjectRole role = projectAccessService.resolveAccess(projectId, currentUser.getId()).getRole();
+        try (ParallelReads.Scope reads = parallelReads.open()) {
+            ParallelReads.Branch<Optional<Project>> project = reads.fork(() -> projectRepository.findById(projectId));
+            ParallelReads.Branch<List<ProjectMember>> members = reads.fork(() -> projectMemberRepository.findByProjectId(projectId));
+            Project loaded = project.join()
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+            return toProjectResponse(loaded, role, authHeader, members.join());
+        }
     }
 
     public ProjectResponse updateProject(Long projectId, UpdateProjectRequest request, UserDTO currentUser, String authHeader) {
-        projectAccessService.ensureAdmin(projectId, currentUser.getId());
-        Project project = projectAccessService.getProjectOrThrow(projectId);
+        ProjectAccessContext access = projectAccessService.resolveAdminAccess(projectId, currentUser.getId());
+        Project project = access.getProject();
         project.setName(request.getName().trim());
         project.setDescription(request.getDescription());
         project = projectRepository.save(project);
-        return toProjectResponse(project, currentUser.getId(), authHeader, true);
+        changeVersionService.projectChanged(projectId);
+        return toProjectResponse(project, access.getRole(), authHeader, projectMemberRepository.findByProjectId(projectId));
     }
 
     public void deleteProject(Long projectId, UserDTO currentUser) {
-        projectAccessService.ensureAdmin(projectId, currentUser.getId());
-        projectAccessService.getProjectOrThrow(projectId);
+        projectAccessService.resolveAdminAccess(projectId, currentUser.getId());
+        changeVersionService.assignedTasksChanged(projectTaskRepository.findAssigneeIdsByProjectId(projectId));
+        projectMemberRepository.findByProjectId(projectId)
+                .forEach(member -> changeVersionService.membershipsChanged(member.getUserId()));
+        taskCounterService.onProjectDeleted(projectId);
         projectTaskRepository.deleteByProjectId(projectId);
         projectMemberRepository.deleteByProjectId(projectId);
+        projectRoleCache.invalidateProject(projectId);
         projectRepository.deleteById(projectId);
     }
 
     public ProjectMemberResponse addMember(Long projectId, AddMemberRequest request, UserDTO currentUser, String authHeader) {
-        projectAccessService.ensureAdmin(projectId, currentUser.getId());
-        Project project = projectAccessService.getProjectOrThrow(projectId);
+        Project project = projectAccessService.resolveAdminAccess(projectId, currentUser.getId()).getProject();
 
         UserDTO targetUser = userService.getUserByEmail(request.getEmail().trim().toLowerCase(), authHeader);
         if (targetUser.getId().equals(currentUser.getId())) {
@@ -111,6 +132,9 @@ public class ProjectManagementService {
         member.setUserId(targetUser.getId());
         member.setRole(ProjectRole.MEMBER);
         projectMemberRepository.save(member);
+        projectRoleCache.invalidate(projectId, targetUser.getId());
+        changeVersionService.projectChanged(projectId);
+        changeVersionService.membershipsChanged(targetUser.getId());
 
         ProjectMemberResponse response = new ProjectMemberResponse();
         response.setUserId(targetUser.getId());
@@ -121,7 +145,7 @@ public class ProjectManagementService {
     }
 
     public ProjectMemberResponse updateMemberRole(Long projectId, Long memberUserId, UpdateMemberRoleRequest request, UserDTO currentUser, String authHeader) {
-        projectAccessService.ensureAdmin(projectId, currentUser.getId());
+        projectAccessService.resolveAdminAccess(projectId, currentUser.getId());
 
         ProjectMember member = projectMemberRepository.findByProjectIdAndUserId(projectId, memberUserId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Member not found"));
@@ -132,6 +156,8 @@ public class ProjectManagementService {
 
         member.setRole(request.getRole());
         projectMemberRepository.save(member);
+        projectRoleCache.invalidate(projectId, memberUserId);
+        changeVersionService.projectChanged(projectId);
 
         UserDTO user = userService.getUserById(memberUserId, authHeader);
         ProjectMemberResponse response = new ProjectMemberResponse();
@@ -143,7 +169,7 @@ public class ProjectManagementService {
     }
 
     public void removeMember(Long projectId, Long memberUserId, UserDTO currentUser) {
-        projectAccessService.ensureAdmin(projectId, currentUser.getId());
+        projectAccessService.resolveAdminAccess(projectId, currentUser.getId());
 
         if (memberUserId.equals(currentUser.getId())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "You cannot remove yourself");
@@ -155,40 +181,42 @@ public class ProjectManagementService {
         }
 
         projectMemberRepository.deleteByProjectIdAndUserId(projectId, memberUserId);
+        projectRoleCache.invalidate(projectId, memberUserId);
+        changeVersionService.projectChanged(projectId);
+        changeVersionService.membershipsChanged(memberUserId);
     }
 
-    private ProjectResponse toProjectResponse(Project project, Long viewerId, String authHeader, boolean includeMembers) {
-        ProjectRole role = projectMemberRepository.findByProjectIdAndUserId(project.getId(), viewerId)
-                .map(ProjectMember::getRole)
-                .orElse(null);
-
-        List<ProjectMember> members = projectMemberRepository.findByProjectId(project.getId());
-        long totalTasks = projectTaskRepository.countByProjectId(project.getId());
-        long completedTasks = projectTaskRepository.countByProjectIdAndStatus(project.getId(), ProjectTaskStatus.DONE);
-        int progress = totalTasks == 0 ? 0 : (int) Math.round((completedTasks * 100.0) / totalTasks);
+    // members is null when they are not returned; a count is enough then
+    private ProjectResponse toProjectResponse(Project project, ProjectRole role, String authHeader, List<ProjectMember> members) {
+        boolean includeMembers = members != null;
+        long memberCount = includeMembers ? members.size() : projectMemberRepository.countByProjectId(project.getId());
 
         ProjectResponse response = new ProjectResponse();
         response.setId(project.getId());
         response.setName(project.getName());
         response.setDescription(project.getDescription());
         response.setOwnerId(project.getOwnerId());
-        response.setMemberCount(members.size());
-        response.setProgress(progress);
+        response.setMemberCount((int) memberCount);
+        response.setProgress(progressOf(project.getTaskCount(), project.getCompletedTaskCount()));
         response.setCurrentUserRole(role);
         response.setCreatedAt(project.getCreatedAt());
         response.setUpdatedAt(project.getUpdatedAt());
 
         if (includeMembers) {
+            boolean resolveUsers = authHeader != null && !authHeader.isBlank();
+            Map<Long, UserDTO> users = resolveUsers
+                    ? userService.getUsersByIds(members.stream().map(ProjectMember::getUserId).toList(), authHeader)
+                    : Map.of();
             List<ProjectMemberResponse> memberResponses = members.stream().map(member -> {
                 ProjectMemberResponse mr = new ProjectMemberResponse();
                 mr.setUserId(member.getUserId());
                 mr.setRole(member.getRole());
-                if (authHeader != null && !authHeader.isBlank()) {
-                    try {
-                        UserDTO user = userService.getUserById(member.getUserId(), authHeader);
+                if (resolveUsers) {
+                    UserDTO user = users.get(member.getUserId());
+                    if (user != null) {
                         mr.setName(user.getName());
                         mr.setEmail(user.getEmail());
-                    } catch (Exception ignored) {
+                    } else {
                         mr.setName("Unknown");
                         mr.setEmail("");
                     }
@@ -203,4 +231,22 @@ public class ProjectManagementService {
 
         return response;
     }
+
+    private ProjectResponse toProjectResponse(ProjectMemberRepository.ProjectSummaryRow row) {
+        ProjectResponse response = new ProjectResponse();
+        response.setId(row.getId());
+        response.setName(row.getName());
+        response.setDescription(row.getDescription());
+        response.setOwnerId(row.getOwnerId());
+        response.setMemberCount(row.getMemberCount().intValue());
+        response.setProgress(progressOf(row.getTaskCount(), row.getCompletedTaskCount()));
+        response.setCurrentUserRole(row.getRole());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        return response;
+    }
+
+    private static int progressOf(long totalTasks, long completedTasks) {
+        return totalTasks == 0 ? 0 : (int) Math.round((completedTasks * 100.0) / totalTasks);
+    }
 }
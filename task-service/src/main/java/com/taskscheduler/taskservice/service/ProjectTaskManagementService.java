@@ -1,21 +1,41 @@
 package com.taskscheduler.taskservice.service;
 
+import com.taskscheduler.taskservice.dto.BulkResponse;
+import com.taskscheduler.taskservice.dto.PageResponse;
 import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.dto.task.BulkProjectTaskStatusRequest;
+import com.taskscheduler.taskservice.dto.task.BulkUpdateProjectTaskRequest;
 import com.taskscheduler.taskservice.dto.task.CreateProjectTaskRequest;
 import com.taskscheduler.taskservice.dto.task.ProjectTaskResponse;
 import com.taskscheduler.taskservice.dto.task.UpdateProjectTaskRequest;
 import com.taskscheduler.taskservice.entity.Project;
+import com.taskscheduler.taskservice.entity.ProjectMember;
 import com.taskscheduler.taskservice.entity.ProjectTask;
-import com.taskscheduler.taskservice.entity.enums.ProjectRole;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
 import com.taskscheduler.taskservice.repository.ProjectMemberRepository;
 import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
+import com.taskscheduler.taskservice.util.PageCursor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,19 +54,298 @@ public class ProjectTaskManagementService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${tasks.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
+    // Checked before answering 304 so a non-member cannot probe a project's tag
+    @Transactional(readOnly = true)
+    public String getProjectTasksTag(Long projectId, UserDTO currentUser, String variant) {
+        projectAccessService.resolveAccess(projectId, currentUser.getId());
+        return changeVersionService.projectTasksTag(projectId, variant)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+    }
+
+    @Transactional(readOnly = true)
     public List<ProjectTaskResponse> getProjectTasks(Long projectId, UserDTO currentUser, String authHeader) {
-        projectAccessService.ensureMemberAndGetRole(projectId, currentUser.getId());
-        return projectTaskRepository.findByProjectIdOrderByCreatedAtDesc(projectId).stream()
-                .map(task -> toResponse(task, authHeader))
+        projectAccessService.resolveAccess(projectId, currentUser.getId());
+        List<ProjectTask> tasks = projectTaskRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
+        Map<Long, UserDTO> assignees = resolveAssignees(tasks, authHeader);
+        return tasks.stream()
+                .map(task -> toResponse(task, assignees))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ProjectTaskResponse> getProjectTasksPage(Long projectId, Integer limit, String cursor, UserDTO currentUser, String authHeader) {
+        projectAccessService.resolveAccess(projectId, currentUser.getId());
+        int size = PageCursor.clampLimit(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<ProjectTask> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = projectTaskRepository.findByProjectIdOrderByCreatedAtDescIdDesc(projectId, page);
+        } else {
+            try {
+                String[] keys = PageCursor.decode(cursor, 2);
+                tasks = projectTaskRepository.findPageBeforeByProjectId(projectId, LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]), page);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            ProjectTask last = tasks.get(size - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        Map<Long, UserDTO> assignees = resolveAssignees(tasks, authHeader);
+        List<ProjectTaskResponse> items = tasks.stream()
+                .map(task -> toResponse(task, assignees))
                 .collect(Collectors.toList());
+        return new PageResponse<>(items, nextCursor);
     }
 
     public ProjectTaskResponse createTask(Long projectId, CreateProjectTaskRequest request, UserDTO currentUser, String authHeader) {
-        projectAccessService.ensureMemberAndGetRole(projectId, currentUser.getId());
-        Project project = projectAccessService.getProjectOrThrow(projectId);
+        Project project = projectAccessService.resolveAccess(projectId, currentUser.getId()).getProject();
+
+        validateAssigneeIfPresent(projectId, request.getAssignedUserId(), authHeader);
+
+        ProjectTask saved = projectTaskRepository.save(newTask(project, request, currentUser));
+        taskCounterService.onTaskCreated(saved);
+        changeVersionService.assignedTasksChanged(Collections.singletonList(saved.getAssignedUserId()));
+        ProjectTaskResponse response = toResponse(saved, authHeader);
+        changeEventService.projectTaskChanged(memberIds(projectId), "created", projectId, saved.getId(), response);
+        return response;
+    }
+
+    public ProjectTaskResponse updateTask(Long projectId, Long taskId, UpdateProjectTaskRequest request, UserDTO currentUser, String authHeader) {
+        ProjectAccessContext access = projectAccessService.resolveAccess(projectId, currentUser.getId());
+        ProjectTask task = getProjectTaskOrThrow(projectId, taskId);
+        checkCanUpdate(access, task, request, currentUser);
 
         validateAssigneeIfPresent(projectId, request.getAssignedUserId(), authHeader);
 
+        ProjectTaskStatus previousStatus = task.getStatus();
+        Long previousAssigneeId = task.getAssignedUserId();
+        applyUpdate(task, request, access.isAdmin());
+
+        ProjectTask saved = projectTaskRepository.save(task);
+        taskCounterService.onTaskUpdated(projectId, previousStatus, previousAssigneeId, saved);
+        changeVersionService.projectChanged(projectId);
+        changeVersionService.assignedTasksChanged(Arrays.asList(previousAssigneeId, saved.getAssignedUserId()));
+        ProjectTaskResponse response = toResponse(saved, authHeader);
+        changeEventService.projectTaskChanged(memberIds(projectId), "updated", projectId, taskId, response);
+        return response;
+    }
+
+    public void deleteTask(Long projectId, Long taskId, UserDTO currentUser) {
+        ProjectAccessContext access = projectAccessService.resolveAccess(projectId, currentUser.getId());
+        ProjectTask task = getProjectTaskOrThrow(projectId, taskId);
+        checkCanDelete(access, task, currentUser);
+
+        projectTaskRepository.delete(task);
+        taskCounterService.onTaskDeleted(task);
+        changeVersionService.assignedTasksChanged(Collections.singletonList(task.getAssignedUserId()));
+        changeEventService.projectTaskChanged(memberIds(projectId), "deleted", projectId, taskId, null);
+    }
+
+    // Bulk operations: one access check and one transaction per batch, JDBC-batched writes and one counter
+    // update per project/assignee. Items that fail validation or permission checks are reported and skipped.
+    public BulkResponse<ProjectTaskResponse> createTasks(Long projectId, List<CreateProjectTaskRequest> requests, UserDTO currentUser, String authHeader) {
+        checkBulkSize(requests);
+        Project project = projectAccessService.resolveAccess(projectId, currentUser.getId()).getProject();
+        Set<Long> memberIds = memberIds(projectId);
+
+        String[] errors = new String[requests.size()];
+        List<ProjectTask> toSave = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateProjectTaskRequest request = requests.get(i);
+            errors[i] = violations(request);
+            if (errors[i] == null && request.getAssignedUserId() != null && !memberIds.contains(request.getAssignedUserId())) {
+                errors[i] = "Assignee must be a member of this project";
+            }
+            if (errors[i] == null) {
+                toSave.add(newTask(project, request, currentUser));
+            }
+        }
+
+        List<ProjectTask> saved = projectTaskRepository.saveAll(toSave);
+        TaskCounterService.Batch counters = taskCounterService.batch(projectId);
+        saved.forEach(counters::created);
+        counters.apply();
+        changeVersionService.assignedTasksChanged(saved.stream().map(ProjectTask::getAssignedUserId).toList());
+
+        Map<Long, UserDTO> assignees = resolveAssignees(saved, authHeader);
+        Iterator<ProjectTask> savedTasks = saved.iterator();
+        BulkResponse<ProjectTaskResponse> response = new BulkResponse<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] != null) {
+                response.fail(i, null, 400, errors[i]);
+            } else {
+                ProjectTask task = savedTasks.next();
+                response.ok(i, task.getId(), toResponse(task, assignees));
+            }
+        }
+        publishResults(memberIds, "created", projectId, response);
+        return response;
+    }
+
+    public BulkResponse<ProjectTaskResponse> updateTasks(Long projectId, List<BulkUpdateProjectTaskRequest> requests, UserDTO currentUser, String authHeader) {
+        checkBulkSize(requests);
+        ProjectAccessContext access = projectAccessService.resolveAccess(projectId, currentUser.getId());
+        Map<Long, ProjectTask> tasks = loadTasks(projectId, requests.stream().filter(Objects::nonNull).map(BulkUpdateProjectTaskRequest::getTaskId).toList());
+        Set<Long> memberIds = memberIds(projectId);
+
+        TaskCounterService.Batch counters = taskCounterService.batch(projectId);
+        ProjectTask[] updated = new ProjectTask[requests.size()];
+        ResponseStatusException[] errors = new ResponseStatusException[requests.size()];
+        List<Long> touchedAssignees = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BulkUpdateProjectTaskRequest request = requests.get(i);
+            try {
+                String violations = violations(request);
+                if (violations != null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations);
+                }
+                ProjectTask task = tasks.get(request.getTaskId());
+                if (task == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found in project");
+                }
+                checkCanUpdate(access, task, request, currentUser);
+                if (request.getAssignedUserId() != null && !memberIds.contains(request.getAssignedUserId())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee must be a member of this project");
+                }
+
+                ProjectTaskStatus previousStatus = task.getStatus();
+                Long previousAssigneeId = task.getAssignedUserId();
+                applyUpdate(task, request, access.isAdmin());
+                counters.updated(previousStatus, previousAssigneeId, task);
+                touchedAssignees.add(previousAssigneeId);
+                touchedAssignees.add(task.getAssignedUserId());
+                updated[i] = task;
+            } catch (ResponseStatusException e) {
+                errors[i] = e;
+            }
+        }
+        counters.apply();
+        if (Arrays.stream(updated).anyMatch(Objects::nonNull)) {
+            changeVersionService.projectChanged(projectId);
+            changeVersionService.assignedTasksChanged(touchedAssignees);
+        }
+
+        Map<Long, UserDTO> assignees = resolveAssignees(Arrays.stream(updated).filter(Objects::nonNull).toList(), authHeader);
+        BulkResponse<ProjectTaskResponse> response = new BulkResponse<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Long taskId = requests.get(i) == null ? null : requests.get(i).getTaskId();
+            if (errors[i] != null) {
+                response.fail(i, taskId, errors[i].getStatusCode().value(), errors[i].getReason());
+            } else {
+                response.ok(i, taskId, toResponse(updated[i], assignees));
+            }
+        }
+        publishResults(memberIds, "updated", projectId, response);
+        return response;
+    }
+
+    // Status-only counterpart of updateTasks for board moves and "mark done": no other field is sent or changed
+    public BulkResponse<ProjectTaskResponse> updateTaskStatuses(Long projectId, List<BulkProjectTaskStatusRequest> requests, UserDTO currentUser, String authHeader) {
+        checkBulkSize(requests);
+        ProjectAccessContext access = projectAccessService.resolveAccess(projectId, currentUser.getId());
+        Map<Long, ProjectTask> tasks = loadTasks(projectId, requests.stream().filter(Objects::nonNull).map(BulkProjectTaskStatusRequest::getTaskId).toList());
+
+        TaskCounterService.Batch counters = taskCounterService.batch(projectId);
+        ProjectTask[] updated = new ProjectTask[requests.size()];
+        ResponseStatusException[] errors = new ResponseStatusException[requests.size()];
+        List<Long> touchedAssignees = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BulkProjectTaskStatusRequest request = requests.get(i);
+            try {
+                String violations = violations(request);
+                if (violations != null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations);
+                }
+                ProjectTask task = tasks.get(request.getTaskId());
+                if (task == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found in project");
+                }
+                checkCanEdit(access, task, currentUser);
+
+                ProjectTaskStatus previousStatus = task.getStatus();
+                task.setStatus(request.getStatus());
+                counters.updated(previousStatus, task.getAssignedUserId(), task);
+                touchedAssignees.add(task.getAssignedUserId());
+                updated[i] = task;
+            } catch (ResponseStatusException e) {
+                errors[i] = e;
+            }
+        }
+        counters.apply();
+        if (Arrays.stream(updated).anyMatch(Objects::nonNull)) {
+            changeVersionService.projectChanged(projectId);
+            changeVersionService.assignedTasksChanged(touchedAssignees);
+        }
+
+        Map<Long, UserDTO> assignees = resolveAssignees(Arrays.stream(updated).filter(Objects::nonNull).toList(), authHeader);
+        BulkResponse<ProjectTaskResponse> response = new BulkResponse<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Long taskId = requests.get(i) == null ? null : requests.get(i).getTaskId();
+            if (errors[i] != null) {
+                response.fail(i, taskId, errors[i].getStatusCode().value(), errors[i].getReason());
+            } else {
+                response.ok(i, taskId, toResponse(updated[i], assignees));
+            }
+        }
+        publishResults(memberIds(projectId), "updated", projectId, response);
+        return response;
+    }
+
+    public BulkResponse<ProjectTaskResponse> deleteTasks(Long projectId, List<Long> taskIds, UserDTO currentUser) {
+        checkBulkSize(taskIds);
+        ProjectAccessContext access = projectAccessService.resolveAccess(projectId, currentUser.getId());
+        Map<Long, ProjectTask> tasks = loadTasks(projectId, taskIds);
+
+        TaskCounterService.Batch counters = taskCounterService.batch(projectId);
+        List<ProjectTask> toDelete = new ArrayList<>();
+        BulkResponse<ProjectTaskResponse> response = new BulkResponse<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            ProjectTask task = tasks.remove(taskIds.get(i));
+            if (task == null) {
+                response.fail(i, taskIds.get(i), 404, "Task not found in project");
+                continue;
+            }
+            try {
+                checkCanDelete(access, task, currentUser);
+            } catch (ResponseStatusException e) {
+                response.fail(i, task.getId(), e.getStatusCode().value(), e.getReason());
+                continue;
+            }
+            toDelete.add(task);
+            counters.deleted(task);
+            response.ok(i, task.getId(), null);
+        }
+        if (!toDelete.isEmpty()) {
+            projectTaskRepository.deleteAllByIdInBatch(toDelete.stream().map(ProjectTask::getId).toList());
+            changeVersionService.assignedTasksChanged(toDelete.stream().map(ProjectTask::getAssignedUserId).toList());
+        }
+        counters.apply();
+        publishResults(memberIds(projectId), "deleted", projectId, response);
+        return response;
+    }
+
+    private ProjectTask newTask(Project project, CreateProjectTaskRequest request, UserDTO currentUser) {
         ProjectTask task = new ProjectTask();
         task.setProject(project);
         task.setTitle(request.getTitle().trim());
@@ -56,28 +355,27 @@ public class ProjectTaskManagementService {
         task.setDueDate(request.getDueDate());
         task.setAssignedUserId(request.getAssignedUserId());
         task.setCreatedByUserId(currentUser.getId());
-
-        return toResponse(projectTaskRepository.save(task), authHeader);
+        return task;
     }
 
-    public ProjectTaskResponse updateTask(Long projectId, Long taskId, UpdateProjectTaskRequest request, UserDTO currentUser, String authHeader) {
-        ProjectRole role = projectAccessService.ensureMemberAndGetRole(projectId, currentUser.getId());
-        ProjectTask task = getProjectTaskOrThrow(projectId, taskId);
+    private void checkCanUpdate(ProjectAccessContext access, ProjectTask task, UpdateProjectTaskRequest request, UserDTO currentUser) {
+        checkCanEdit(access, task, currentUser);
 
-        boolean isAdmin = role == ProjectRole.ADMIN;
+        if (!access.isAdmin() && request.getAssignedUserId() != null && !request.getAssignedUserId().equals(task.getAssignedUserId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admin can reassign task");
+        }
+    }
+
+    private void checkCanEdit(ProjectAccessContext access, ProjectTask task, UserDTO currentUser) {
         boolean isCreator = currentUser.getId().equals(task.getCreatedByUserId());
         boolean isAssignee = task.getAssignedUserId() != null && currentUser.getId().equals(task.getAssignedUserId());
 
-        if (!isAdmin && !isCreator && !isAssignee) {
+        if (!access.isAdmin() && !isCreator && !isAssignee) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You do not have permission to update this task");
         }
+    }
 
-        if (!isAdmin && request.getAssignedUserId() != null && !request.getAssignedUserId().equals(task.getAssignedUserId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admin can reassign task");
-        }
-
-        validateAssigneeIfPresent(projectId, request.getAssignedUserId(), authHeader);
-
+    private void applyUpdate(ProjectTask task, UpdateProjectTaskRequest request, boolean isAdmin) {
         task.setTitle(request.getTitle().trim());
         task.setDescription(request.getDescription());
         task.setPriority(request.getPriority());
@@ -86,30 +384,64 @@ public class ProjectTaskManagementService {
         if (isAdmin) {
             task.setAssignedUserId(request.getAssignedUserId());
         }
-
-        return toResponse(projectTaskRepository.save(task), authHeader);
     }
 
-    public void deleteTask(Long projectId, Long taskId, UserDTO currentUser) {
-        ProjectRole role = projectAccessService.ensureMemberAndGetRole(projectId, currentUser.getId());
-        ProjectTask task = getProjectTaskOrThrow(projectId, taskId);
-
-        boolean isAdmin = role == ProjectRole.ADMIN;
+    private void checkCanDelete(ProjectAccessContext access, ProjectTask task, UserDTO currentUser) {
         boolean isCreator = currentUser.getId().equals(task.getCreatedByUserId());
-        if (!isAdmin && !isCreator) {
+        if (!access.isAdmin() && !isCreator) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins or task creator can delete task");
         }
+    }
 
-        projectTaskRepository.delete(task);
+    private Map<Long, ProjectTask> loadTasks(Long projectId, List<Long> taskIds) {
+        Set<Long> ids = taskIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, ProjectTask> tasks = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (ProjectTask task : projectTaskRepository.findByProjectIdAndIdIn(projectId, ids)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
     }
 
-    private ProjectTask getProjectTaskOrThrow(Long projectId, Long taskId) {
-        ProjectTask task = projectTaskRepository.findById(taskId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-        if (!task.getProject().getId().equals(projectId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found in project");
+    private void publishResults(Set<Long> memberIds, String action, Long projectId, BulkResponse<ProjectTaskResponse> response) {
+        for (BulkResponse.Item<ProjectTaskResponse> item : response.getResults()) {
+            if (item.getStatus() == 200) {
+                changeEventService.projectTaskChanged(memberIds, action, projectId, item.getId(), item.getData());
+            }
         }
-        return task;
+    }
+
+    private Set<Long> memberIds(Long projectId) {
+        return projectMemberRepository.findByProjectId(projectId).stream()
+                .map(ProjectMember::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > bulkMaxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk requests accept between 1 and " + bulkMaxItems + " items");
+        }
+    }
+
+    // Bulk bodies are validated per item so one bad entry does not reject the whole request
+    private String violations(Object request) {
+        if (request == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private ProjectTask getProjectTaskOrThrow(Long projectId, Long taskId) {
+        return projectTaskRepository.findByIdAndProjectId(taskId, projectId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found in project"));
     }
 
     private void validateAssigneeIfPresent(Long projectId, Long assignedUserId, String authHeader) {
@@ -122,7 +454,19 @@ public class ProjectTaskManagementService {
         }
     }
 
+    private Map<Long, UserDTO> resolveAssignees(List<ProjectTask> tasks, String authHeader) {
+        List<Long> assigneeIds = tasks.stream()
+                .map(ProjectTask::getAssignedUserId)
+                .filter(Objects::nonNull)
+                .toList();
+        return userService.getUsersByIds(assigneeIds, authHeader);
+    }
+
     private ProjectTaskResponse toResponse(ProjectTask task, String authHeader) {
+        return toResponse(task, resolveAssignees(List.of(task), authHeader));
+    }
+
+    private ProjectTaskResponse toResponse(ProjectTask task, Map<Long, UserDTO> assignees) {
         ProjectTaskResponse response = new ProjectTaskResponse();
         response.setId(task.getId());
         response.setProjectId(task.getProject().getId());
@@ -137,12 +481,8 @@ public class ProjectTaskManagementService {
         response.setUpdatedAt(task.getUpdatedAt());
 
         if (task.getAssignedUserId() != null) {
-            try {
-                UserDTO user = userService.getUserById(task.getAssignedUserId(), authHeader);
-                response.setAssignedUserName(user.getName());
-            } catch (Exception ignored) {
-                response.setAssignedUserName("Unknown");
-            }
+            UserDTO user = assignees.get(task.getAssignedUserId());
+            response.setAssignedUserName(user != null ? user.getName() : "Unknown");
         }
         return response;
     }
@@ -0,0 +1,266 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.entity.Project;
+import com.taskscheduler.taskservice.entity.ProjectTask;
+import com.taskscheduler.taskservice.entity.UserTaskCounter;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import com.taskscheduler.taskservice.repository.CounterUpserts;
+import com.taskscheduler.taskservice.repository.ProjectRepository;
+import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
+import com.taskscheduler.taskservice.repository.UserTaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Keeps the per-project and per-assignee task counters in step with project_tasks, in the caller's transaction
+@Service
+@Transactional
+public class TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterService.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTaskRepository projectTaskRepository;
+
+    @Autowired
+    private UserTaskCounterRepository userTaskCounterRepository;
+
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${task-counters.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
+    public void onTaskCreated(ProjectTask task) {
+        projectRepository.applyTaskCountDelta(task.getProject().getId(), 1, isDone(task.getStatus()));
+        applyAssigneeDelta(task.getAssignedUserId(), task.getStatus(), 1);
+    }
+
+    public void onTaskUpdated(Long projectId, ProjectTaskStatus previousStatus, Long previousAssigneeId, ProjectTask task) {
+        long completedDelta = isDone(task.getStatus()) - isDone(previousStatus);
+        if (completedDelta != 0) {
+            projectRepository.applyTaskCountDelta(projectId, 0, completedDelta);
+        }
+        if (previousStatus != task.getStatus() || !Objects.equals(previousAssigneeId, task.getAssignedUserId())) {
+            applyAssigneeDelta(previousAssigneeId, previousStatus, -1);
+            applyAssigneeDelta(task.getAssignedUserId(), task.getStatus(), 1);
+        }
+    }
+
+    public void onTaskDeleted(ProjectTask task) {
+        projectRepository.applyTaskCountDelta(task.getProject().getId(), -1, -isDone(task.getStatus()));
+        applyAssigneeDelta(task.getAssignedUserId(), task.getStatus(), -1);
+    }
+
+    // Call before the project's tasks are deleted; the project row and its counters go away with it
+    public void onProjectDeleted(Long projectId) {
+        for (ProjectTaskRepository.AssigneeStatusCountRow row : projectTaskRepository.countByAssigneeAndStatusForProject(projectId)) {
+            applyAssigneeDelta(row.getUserId(), row.getStatus(), -row.getTotal());
+        }
+    }
+
+    // Accumulates the counter effect of many task changes in one project and writes it with one update per row touched
+    public Batch batch(Long projectId) {
+        return new Batch(projectId);
+    }
+
+    // Recomputes every counter from project_tasks and returns how many rows were corrected. Each project and user is
+    // repaired in its own short transaction that first takes the counter row's lock, the one writers queue on, and
+    // only then recounts; a write committing meanwhile is either in the recount or applied on top of it afterwards.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int repaired = 0;
+        for (Long projectId : projectRepository.findAllIds()) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> repairProject(projectId)))) {
+                repaired++;
+            }
+        }
+        Set<Long> userIds = new HashSet<>(userTaskCounterRepository.findAllUserIds());
+        userIds.addAll(projectTaskRepository.findAllAssigneeIds());
+        for (Long userId : userIds) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> repairUser(userId)))) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    // Number of projects and users whose stored counters disagree with project_tasks
+    @Transactional(readOnly = true)
+    public int countDrift() {
+        Map<Long, long[]> expectedProjects = new HashMap<>();
+        for (ProjectTaskRepository.ProjectCountRow row : projectTaskRepository.countAllByProject()) {
+            expectedProjects.put(row.getProjectId(), new long[]{row.getTotal(), row.getCompleted()});
+        }
+        int drift = 0;
+        for (Project project : projectRepository.findAll()) {
+            long[] expected = expectedProjects.getOrDefault(project.getId(), new long[]{0, 0});
+            if (project.getTaskCount() != expected[0] || project.getCompletedTaskCount() != expected[1]) {
+                drift++;
+            }
+        }
+
+        Map<Long, UserTaskCounter> expectedUsers = expectedUserCounters();
+        List<UserTaskCounter> stored = userTaskCounterRepository.findAll();
+        for (UserTaskCounter counter : stored) {
+            UserTaskCounter expected = expectedUsers.remove(counter.getUserId());
+            if (expected == null) {
+                expected = new UserTaskCounter(counter.getUserId());
+            }
+            if (counter.getTodoCount() != expected.getTodoCount()
+                    || counter.getInProgressCount() != expected.getInProgressCount()
+                    || counter.getDoneCount() != expected.getDoneCount()) {
+                drift++;
+            }
+        }
+        return drift + expectedUsers.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void verifyAndRepairOnStartup() {
+        if (!verifyOnStartup) {
+            return;
+        }
+        int drift = countDrift();
+        if (drift > 0) {
+            log.warn("Task counters drifted for {} projects/users, rebuilding", drift);
+            rebuild();
+        }
+    }
+
+    private boolean repairProject(Long projectId) {
+        if (projectRepository.lockTaskCounts(projectId) == 0) {
+            return false;
+        }
+        long total = projectTaskRepository.countByProjectId(projectId);
+        long completed = projectTaskRepository.countByProjectIdAndStatus(projectId, ProjectTaskStatus.DONE);
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        if (project.getTaskCount() == total && project.getCompletedTaskCount() == completed) {
+            return false;
+        }
+        projectRepository.setTaskCounts(projectId, total, completed);
+        return true;
+    }
+
+    private boolean repairUser(Long userId) {
+        // Creates the row if missing and locks it
+        counterUpserts.addUserTaskCounts(userId, 0, 0, 0);
+        UserTaskCounter expected = new UserTaskCounter(userId);
+        for (ProjectTaskRepository.AssigneeStatusCountRow row : projectTaskRepository.countByStatusForAssignee(userId)) {
+            setCount(expected, row.getStatus(), row.getTotal());
+        }
+        UserTaskCounter stored = userTaskCounterRepository.findById(userId).orElseThrow();
+        if (stored.getTodoCount() == expected.getTodoCount()
+                && stored.getInProgressCount() == expected.getInProgressCount()
+                && stored.getDoneCount() == expected.getDoneCount()) {
+            return false;
+        }
+        userTaskCounterRepository.setCounts(userId, expected.getTodoCount(), expected.getInProgressCount(), expected.getDoneCount());
+        return true;
+    }
+
+    private Map<Long, UserTaskCounter> expectedUserCounters() {
+        Map<Long, UserTaskCounter> counters = new HashMap<>();
+        for (ProjectTaskRepository.AssigneeStatusCountRow row : projectTaskRepository.countAllByAssigneeAndStatus()) {
+            setCount(counters.computeIfAbsent(row.getUserId(), UserTaskCounter::new), row.getStatus(), row.getTotal());
+        }
+        return counters;
+    }
+
+    private static void setCount(UserTaskCounter counter, ProjectTaskStatus status, long total) {
+        switch (status) {
+            case TODO -> counter.setTodoCount(total);
+            case IN_PROGRESS -> counter.setInProgressCount(total);
+            case DONE -> counter.setDoneCount(total);
+        }
+    }
+
+    private void applyAssigneeDelta(Long userId, ProjectTaskStatus status, long delta) {
+        if (userId == null || status == null) {
+            return;
+        }
+        long todo = status == ProjectTaskStatus.TODO ? delta : 0;
+        long inProgress = status == ProjectTaskStatus.IN_PROGRESS ? delta : 0;
+        long done = status == ProjectTaskStatus.DONE ? delta : 0;
+        counterUpserts.addUserTaskCounts(userId, todo, inProgress, done);
+    }
+
+    private static long isDone(ProjectTaskStatus status) {
+        return status == ProjectTaskStatus.DONE ? 1 : 0;
+    }
+
+    public class Batch {
+        private final Long projectId;
+        private long total;
+        private long completed;
+        // userId -> {todo, inProgress, done} deltas
+        private final Map<Long, long[]> assignees = new HashMap<>();
+
+        private Batch(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        public void created(ProjectTask task) {
+            total++;
+            completed += isDone(task.getStatus());
+            add(task.getAssignedUserId(), task.getStatus(), 1);
+        }
+
+        public void updated(ProjectTaskStatus previousStatus, Long previousAssigneeId, ProjectTask task) {
+            completed += isDone(task.getStatus()) - isDone(previousStatus);
+            add(previousAssigneeId, previousStatus, -1);
+            add(task.getAssignedUserId(), task.getStatus(), 1);
+        }
+
+        public void deleted(ProjectTask task) {
+            total--;
+            completed -= isDone(task.getStatus());
+            add(task.getAssignedUserId(), task.getStatus(), -1);
+        }
+
+        public void apply() {
+            if (total != 0 || completed != 0) {
+                projectRepository.applyTaskCountDelta(projectId, total, completed);
+            }
+            assignees.forEach((userId, deltas) -> {
+                if (deltas[0] != 0 || deltas[1] != 0 || deltas[2] != 0) {
+                    counterUpserts.addUserTaskCounts(userId, deltas[0], deltas[1], deltas[2]);
+                }
+            });
+        }
+
+        private void add(Long userId, ProjectTaskStatus status, long delta) {
+            if (userId != null && status != null) {
+                int slot = switch (status) {
+                    case TODO -> 0;
+                    case IN_PROGRESS -> 1;
+                    case DONE -> 2;
+                };
+                assignees.computeIfAbsent(userId, id -> new long[3])[slot] += delta;
+            }
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.taskscheduler.taskservice.service;
 
+import com.taskscheduler.taskservice.dto.BulkResponse;
+import com.taskscheduler.taskservice.dto.PageResponse;
 import com.taskscheduler.taskservice.dto.TaskDTO;
 import com.taskscheduler.taskservice.entity.Task;
 import com.taskscheduler.taskservice.repository.TaskRepository;
+import com.taskscheduler.taskservice.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +33,15 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Value("${tasks.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
     private TaskDTO convertToDTO(Task task) {
         return new TaskDTO(
                 task.getId(),
@@ -53,112 +75,323 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public TaskDTO addTask(TaskDTO taskDTO, Long userId) throws Exception {
         Task task = convertToEntity(taskDTO, userId);
         task.setDone(false);
         task.setId(null);
         Task savedTask = taskRepository.save(task);
-        return convertToDTO(savedTask);
+        changeVersionService.personalTasksChanged(userId);
+        TaskDTO saved = convertToDTO(savedTask);
+        changeEventService.taskChanged(userId, "created", saved.getId(), saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasksByUser(Long userId) throws Exception {
-        List<Task> tasks = taskRepository.findByUserIdOrderByPriorityAscEndTimeAsc(userId);
-
-        tasks.sort(
-                Comparator
-                        .comparingInt((Task t) -> {
-                            switch (t.getPriority()) {
-                                case "High": return 1;
-                                case "Medium": return 2;
-                                case "Low": return 3;
-                                default: return 4;
-                            }
-                        })
-                        .thenComparing(Task::getEndTime)
-        );
+        return convertToDTOList(taskRepository.findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<TaskDTO> getTasksPageByUser(Long userId, Integer limit, String cursor) throws Exception {
+        int size = PageCursor.clampLimit(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
 
-        return convertToDTOList(tasks);
+        List<Task> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(userId, page);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 3);
+            try {
+                tasks = taskRepository.findPageAfterByUserId(userId, Integer.parseInt(keys[0]),
+                        LocalDateTime.parse(keys[1]), Long.parseLong(keys[2]), page);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            Task last = tasks.get(size - 1);
+            nextCursor = PageCursor.encode(last.getPriorityRank(), last.getEndTime(), last.getId());
+        }
+        return new PageResponse<>(convertToDTOList(tasks), nextCursor);
     }
 
+    @Transactional(readOnly = true)
     public Optional<TaskDTO> getTaskByIdAndUser(Long id, Long userId) throws Exception {
         return taskRepository.findByIdAndUserId(id, userId).map(this::convertToDTO);
     }
 
+    @Transactional
     public Optional<TaskDTO> updateTask(Long id, TaskDTO taskDetails, Long userId) throws Exception {
         return taskRepository.findByIdAndUserId(id, userId).map(existingTask -> {
-            existingTask.setDescription(taskDetails.getDescription());
-            existingTask.setStartTime(taskDetails.getStartTime());
-            existingTask.setEndTime(taskDetails.getEndTime());
-            existingTask.setPriority(taskDetails.getPriority());
-            existingTask.setCategory(taskDetails.getCategory());
-            existingTask.setNotes(taskDetails.getNotes());
-
-            if (taskDetails.getDone() != null) {
-                existingTask.setDone(taskDetails.getDone());
-            }
-            return convertToDTO(taskRepository.save(existingTask));
+            applyDetails(existingTask, taskDetails);
+            changeVersionService.personalTasksChanged(userId);
+            TaskDTO updated = convertToDTO(taskRepository.save(existingTask));
+            changeEventService.taskChanged(userId, "updated", id, updated);
+            return updated;
         });
     }
 
+    private void applyDetails(Task existingTask, TaskDTO taskDetails) {
+        existingTask.setDescription(taskDetails.getDescription());
+        existingTask.setStartTime(taskDetails.getStartTime());
+        existingTask.setEndTime(taskDetails.getEndTime());
+        // Same defaults as a create, so an update that omits them does not write NULL into the NOT NULL columns
+        existingTask.setPriority(taskDetails.getPriority() != null ? taskDetails.getPriority() : "Medium");
+        existingTask.setCategory(taskDetails.getCategory() != null ? taskDetails.getCategory() : "Personal");
+        existingTask.setNotes(taskDetails.getNotes());
+
+        if (taskDetails.getDone() != null) {
+            existingTask.setDone(taskDetails.getDone());
+        }
+    }
+
+    @Transactional
     public boolean deleteTask(Long id, Long userId) throws Exception {
         if (taskRepository.existsByIdAndUserId(id, userId)) {
             taskRepository.deleteById(id);
+            changeVersionService.personalTasksChanged(userId);
+            changeEventService.taskChanged(userId, "deleted", id, null);
             return true;
         }
         return false;
     }
 
+    @Transactional
     public Optional<TaskDTO> toggleTaskStatus(Long id, Long userId) throws Exception {
         return taskRepository.findByIdAndUserId(id, userId).map(task -> {
             task.setDone(!task.getDone());
-            return convertToDTO(taskRepository.save(task));
+            changeVersionService.personalTasksChanged(userId);
+            TaskDTO toggled = convertToDTO(taskRepository.save(task));
+            changeEventService.taskChanged(userId, "updated", id, toggled);
+            return toggled;
         });
     }
 
+    // Bulk operations: each runs in one transaction and Hibernate sends the rows as JDBC batches.
+    // Invalid or unknown items are reported per index and skipped; the rest are applied.
+    @Transactional
+    public BulkResponse<TaskDTO> addTasks(List<TaskDTO> tasks, Long userId) {
+        checkBulkSize(tasks);
+        String[] errors = new String[tasks.size()];
+        List<Task> toSave = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            errors[i] = validate(tasks.get(i));
+            if (errors[i] == null) {
+                Task task = convertToEntity(tasks.get(i), userId);
+                task.setDone(false);
+                task.setId(null);
+                toSave.add(task);
+            }
+        }
+
+        Iterator<Task> saved = taskRepository.saveAll(toSave).iterator();
+        BulkResponse<TaskDTO> response = new BulkResponse<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (errors[i] != null) {
+                response.fail(i, null, 400, errors[i]);
+            } else {
+                Task task = saved.next();
+                response.ok(i, task.getId(), convertToDTO(task));
+            }
+        }
+        if (response.getSucceeded() > 0) {
+            changeVersionService.personalTasksChanged(userId);
+        }
+        publishResults(userId, "created", response);
+        return response;
+    }
+
+    @Transactional
+    public BulkResponse<TaskDTO> updateTasks(List<TaskDTO> tasks, Long userId) {
+        checkBulkSize(tasks);
+        Map<Long, Task> existing = loadOwned(tasks.stream().filter(Objects::nonNull).map(TaskDTO::getId).toList(), userId);
+        BulkResponse<TaskDTO> response = new BulkResponse<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDTO details = tasks.get(i);
+            String error = validate(details);
+            Task task = error == null ? existing.get(details.getId()) : null;
+            if (error != null) {
+                response.fail(i, details == null ? null : details.getId(), 400, error);
+            } else if (details.getId() == null) {
+                response.fail(i, null, 400, "id is required");
+            } else if (task == null) {
+                response.fail(i, details.getId(), 404, "Task not found or access denied");
+            } else {
+                // Managed entities; dirty checking flushes the updates as one batch at commit
+                applyDetails(task, details);
+                response.ok(i, task.getId(), convertToDTO(task));
+            }
+        }
+        if (response.getSucceeded() > 0) {
+            changeVersionService.personalTasksChanged(userId);
+        }
+        publishResults(userId, "updated", response);
+        return response;
+    }
+
+    @Transactional
+    public BulkResponse<TaskDTO> toggleTasks(List<Long> ids, Long userId) {
+        checkBulkSize(ids);
+        Map<Long, Task> existing = loadOwned(ids, userId);
+        BulkResponse<TaskDTO> response = new BulkResponse<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Task task = existing.get(ids.get(i));
+            if (task == null) {
+                response.fail(i, ids.get(i), 404, "Task not found or access denied");
+            } else {
+                task.setDone(!task.getDone());
+                response.ok(i, task.getId(), convertToDTO(task));
+            }
+        }
+        if (response.getSucceeded() > 0) {
+            changeVersionService.personalTasksChanged(userId);
+        }
+        publishResults(userId, "updated", response);
+        return response;
+    }
+
+    @Transactional
+    public BulkResponse<TaskDTO> deleteTasks(List<Long> ids, Long userId) {
+        checkBulkSize(ids);
+        Map<Long, Task> existing = loadOwned(ids, userId);
+        List<Task> toDelete = new ArrayList<>();
+        BulkResponse<TaskDTO> response = new BulkResponse<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Task task = existing.remove(ids.get(i));
+            if (task == null) {
+                response.fail(i, ids.get(i), 404, "Task not found or access denied");
+            } else {
+                toDelete.add(task);
+                response.ok(i, task.getId(), null);
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(toDelete.stream().map(Task::getId).toList());
+        }
+        if (response.getSucceeded() > 0) {
+            changeVersionService.personalTasksChanged(userId);
+        }
+        publishResults(userId, "deleted", response);
+        return response;
+    }
+
+    private void publishResults(Long userId, String action, BulkResponse<TaskDTO> response) {
+        for (BulkResponse.Item<TaskDTO> item : response.getResults()) {
+            if (item.getStatus() == 200) {
+                changeEventService.taskChanged(userId, action, item.getId(), item.getData());
+            }
+        }
+    }
+
+    private Map<Long, Task> loadOwned(List<Long> ids, Long userId) {
+        Set<Long> distinct = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Task> tasks = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            for (Task task : taskRepository.findByUserIdAndIdIn(userId, distinct)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("Bulk requests accept between 1 and " + bulkMaxItems + " items");
+        }
+    }
+
+    // The columns these map to are NOT NULL, so catching it here keeps one bad item from failing the whole flush
+    private static String validate(TaskDTO task) {
+        if (task == null) {
+            return "Task is required";
+        }
+        if (task.getDescription() == null || task.getDescription().isBlank()) {
+            return "description: must not be blank";
+        }
+        if (task.getStartTime() == null || task.getEndTime() == null) {
+            return "startTime and endTime are required";
+        }
+        // Column lengths; missing priority and category are defaulted, but blank ones are rejected
+        if (task.getDescription().length() > 255) {
+            return "description: size must be at most 255";
+        }
+        if (task.getPriority() != null && (task.getPriority().isBlank() || task.getPriority().length() > 255)) {
+            return "priority: must not be blank and at most 255 characters";
+        }
+        if (task.getCategory() != null && (task.getCategory().isBlank() || task.getCategory().length() > 255)) {
+            return "category: must not be blank and at most 255 characters";
+        }
+        if (task.getNotes() != null && task.getNotes().length() > 1000) {
+            return "notes: size must be at most 1000";
+        }
+        return null;
+    }
+
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByStatus(boolean done, Long userId) throws Exception {
         return convertToDTOList(taskRepository.findByDoneAndUserId(done, userId));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByPriority(String priority, Long userId) throws Exception {
         return convertToDTOList(taskRepository.findByPriorityAndUserId(priority, userId));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByCategory(String category, Long userId) throws Exception {
         return convertToDTOList(taskRepository.findByCategoryAndUserId(category, userId));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getOverdueTasks(Long userId) throws Exception {
         return convertToDTOList(taskRepository.findOverdueTasksByUserId(userId, LocalDateTime.now()));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTodayTasks(Long userId) throws Exception {
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
         LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
         return convertToDTOList(taskRepository.findTasksBetweenByUserId(userId, startOfDay, endOfDay));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksStartingSoon(Long userId) throws Exception {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime oneHourLater = now.plusHours(1);
         return convertToDTOList(taskRepository.findTasksStartingSoonByUserId(userId, now, oneHourLater));
     }
 
+    @Transactional(readOnly = true)
     public TaskStatistics getTaskStatistics(Long userId) throws Exception {
-        long totalTasks = taskRepository.countByUserIdAndDone(userId, true) + taskRepository.countByUserIdAndDone(userId, false);
-        long completedTasks = taskRepository.countByUserIdAndDone(userId, true);
-        long pendingTasks = taskRepository.countByUserIdAndDone(userId, false);
-        long highPriorityTasks = taskRepository.countByUserIdAndPriority(userId, "High");
-        long workTasks = taskRepository.countByUserIdAndCategory(userId, "Work");
-        long personalTasks = taskRepository.countByUserIdAndCategory(userId, "Personal");
-
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
         LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-        long todayTasks = taskRepository.countTasksBetweenByUserId(userId, startOfDay, endOfDay);
-        long overdueTasks = taskRepository.countOverdueTasksByUserId(userId, LocalDateTime.now());
+        List<TaskRepository.TaskCountsRow> rows =
+                taskRepository.aggregateCountsByUserId(userId, startOfDay, endOfDay, LocalDateTime.now());
+
+        long totalTasks = 0;
+        long completedTasks = 0;
+        long todayTasks = 0;
+        long overdueTasks = 0;
+        Map<String, Long> tasksByPriority = new TreeMap<>();
+        Map<String, Long> tasksByCategory = new TreeMap<>();
+        for (TaskRepository.TaskCountsRow row : rows) {
+            totalTasks += row.getTotal();
+            completedTasks += row.getCompleted();
+            todayTasks += row.getToday();
+            overdueTasks += row.getOverdue();
+            tasksByPriority.merge(row.getPriority(), row.getTotal(), Long::sum);
+            tasksByCategory.merge(row.getCategory(), row.getTotal(), Long::sum);
+        }
 
-        return new TaskStatistics(totalTasks, completedTasks, pendingTasks,
-                highPriorityTasks, workTasks, personalTasks,
-                todayTasks, overdueTasks);
+        return new TaskStatistics(totalTasks, completedTasks, totalTasks - completedTasks,
+                tasksByPriority.getOrDefault("High", 0L),
+                tasksByCategory.getOrDefault("Work", 0L),
+                tasksByCategory.getOrDefault("Personal", 0L),
+                todayTasks, overdueTasks, tasksByPriority, tasksByCategory);
     }
 
     public static class TaskStatistics {
@@ -170,10 +403,13 @@ public class TaskService {
         private final long personalTasks;
         private final long todayTasks;
         private final long overdueTasks;
+        private final Map<String, Long> tasksByPriority;
+        private final Map<String, Long> tasksByCategory;
 
         public TaskStatistics(long totalTasks, long completedTasks, long pendingTasks,
                               long highPriorityTasks, long workTasks, long personalTasks,
-                              long todayTasks, long overdueTasks) {
+                              long todayTasks, long overdueTasks,
+                              Map<String, Long> tasksByPriority, Map<String, Long> tasksByCategory) {
             this.totalTasks = totalTasks;
             this.completedTasks = completedTasks;
             this.pendingTasks = pendingTasks;
@@ -182,6 +418,8 @@ public class TaskService {
             this.personalTasks = personalTasks;
             this.todayTasks = todayTasks;
             this.overdueTasks = overdueTasks;
+            this.tasksByPriority = tasksByPriority;
+            this.tasksByCategory = tasksByCategory;
         }
 
         // Getters
@@ -193,5 +431,7 @@ public class TaskService {
         public long getPersonalTasks() { return personalTasks; }
         public long getTodayTasks() { return todayTasks; }
         public long getOverdueTasks() { return overdueTasks; }
+        public Map<String, Long> getTasksByPriority() { return tasksByPriority; }
+        public Map<String, Long> getTasksByCategory() { return tasksByCategory; }
     }
 }
\ No newline at end of file
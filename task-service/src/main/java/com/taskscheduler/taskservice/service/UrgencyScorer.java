@@ -0,0 +1,10 @@
+package com.taskscheduler.taskservice.service;
+
+import java.time.LocalDateTime;
+
+// Ranks open tasks for the next-tasks widget; higher scores are more urgent. Declare a @Primary bean to replace the default.
+public interface UrgencyScorer {
+
+    // priorityRank: 1 = High, 2 = Medium, 3 = Low, 4 = other; due may be null when a task has no deadline
+    double score(int priorityRank, LocalDateTime due, LocalDateTime now);
+}
@@ -1,20 +1,60 @@
 package com.taskscheduler.taskservice.service;
 
+import com.taskscheduler.taskservice.cache.UserDirectoryCache;
+import com.taskscheduler.taskservice.cache.VerifiedTokenCache;
 import com.taskscheduler.taskservice.client.UserServiceClient;
 import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.util.GatewayIdentity;
+import com.taskscheduler.taskservice.util.JwtVerifier;
+import feign.FeignException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 @Service
 public class UserService {
 
     @Autowired
     private UserServiceClient userServiceClient;
 
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private UserDirectoryCache userDirectoryCache;
+
+    @Autowired
+    private GatewayIdentity gatewayIdentity;
+
+    // "local" verifies the JWT in-process; "remote" asks user-service on every request
+    @Value("${auth.token-validation.mode:local}")
+    private String tokenValidationMode;
+
     public boolean validateToken(String authHeader) {
+        if (isLocalValidation()) {
+            try {
+                jwtVerifier.verify(authHeader);
+                return true;
+            } catch (JwtException | IllegalArgumentException e) {
+                return false;
+            }
+        }
         try {
             ResponseEntity<Boolean> response = userServiceClient.validateToken(authHeader);
             return response.getBody() != null && response.getBody();
@@ -24,6 +64,22 @@ public class UserService {
     }
 
     public UserDTO getUserFromToken(String authHeader) throws Exception {
+        // Already verified at the gateway edge
+        Optional<UserDTO> fromGateway = gatewayIdentity.currentUser();
+        if (fromGateway.isPresent()) {
+            return fromGateway.get();
+        }
+        if (isLocalValidation()) {
+            try {
+                return jwtVerifier.toUser(jwtVerifier.verify(authHeader));
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new RuntimeException("Invalid token");
+            }
+        }
+        return verifiedTokenCache.get(authHeader, () -> getUserFromTokenRemote(authHeader));
+    }
+
+    private UserDTO getUserFromTokenRemote(String authHeader) {
         ResponseEntity<Boolean> validationResponse = userServiceClient.validateToken(authHeader);
         if (validationResponse.getBody() == null || !validationResponse.getBody()) {
             throw new RuntimeException("Invalid token");
@@ -39,11 +95,8 @@ public class UserService {
 
     public UserDTO getUserByEmail(String email, String authHeader) {
         try {
-            ResponseEntity<UserDTO> response = userServiceClient.getUserByEmail(email, authHeader);
-            if (response.getBody() == null) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with email: " + email);
-            }
-            return response.getBody();
+            return userDirectoryCache.getByEmail(email, () -> fetchUser(() -> userServiceClient.getUserByEmail(email, authHeader)))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with email: " + email));
         } catch (ResponseStatusException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -53,15 +106,54 @@ public class UserService {
 
     public UserDTO getUserById(Long id, String authHeader) {
         try {
-            ResponseEntity<UserDTO> response = userServiceClient.getUserById(id, authHeader);
-            if (response.getBody() == null) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with id: " + id);
-            }
-            return response.getBody();
+            return userDirectoryCache.getById(id, () -> fetchUser(() -> userServiceClient.getUserById(id, authHeader)))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with id: " + id));
         } catch (ResponseStatusException ex) {
             throw ex;
         } catch (Exception ex) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found with id: " + id);
         }
     }
+
+    // Resolves many users in one round trip; ids user-service does not know are simply absent from the map
+    public Map<Long, UserDTO> getUsersByIds(Collection<Long> ids, String authHeader) {
+        Map<Long, UserDTO> users = new HashMap<>();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(id -> id == null);
+        if (distinctIds.isEmpty()) {
+            return users;
+        }
+        try {
+            userDirectoryCache.getAllById(distinctIds, missingIds -> fetchUsers(missingIds, authHeader))
+                    .forEach((id, user) -> user.ifPresent(found -> users.put(id, found)));
+        } catch (Exception ignored) {
+            // Callers render unresolved users as "Unknown"
+        }
+        return users;
+    }
+
+    // A 404 from user-service is a cacheable "no such user"; any other failure propagates and is not cached
+    private Optional<UserDTO> fetchUser(Supplier<ResponseEntity<UserDTO>> call) {
+        try {
+            return Optional.ofNullable(call.get().getBody());
+        } catch (FeignException.NotFound ex) {
+            return Optional.empty();
+        }
+    }
+
+    private Map<Long, UserDTO> fetchUsers(List<Long> ids, String authHeader) {
+        ResponseEntity<List<UserDTO>> response = userServiceClient.getUsersByIds(ids, authHeader);
+        if (response.getBody() == null) {
+            throw new IllegalStateException("Empty batch lookup response");
+        }
+        Map<Long, UserDTO> users = new HashMap<>();
+        for (UserDTO user : response.getBody()) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    private boolean isLocalValidation() {
+        return !"remote".equalsIgnoreCase(tokenValidationMode);
+    }
 }
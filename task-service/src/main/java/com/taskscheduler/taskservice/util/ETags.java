@@ -0,0 +1,36 @@
+package com.taskscheduler.taskservice.util;
+
+// If-None-Match handling for the weak ETags built by ChangeVersionService
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String wanted = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Variant suffix for paged listings, so each page carries its own tag
+    public static String variant(Object... params) {
+        StringBuilder variant = new StringBuilder();
+        for (Object param : params) {
+            variant.append('.').append(param == null ? "" : Integer.toHexString(param.toString().hashCode()));
+        }
+        return variant.toString();
+    }
+
+    // Weak comparison: W/ prefixes are ignored
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,75 @@
+package com.taskscheduler.taskservice.util;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+// Reads the X-User-* headers the api-gateway attaches after verifying a token (see the gateway's IdentityHeaders).
+// Only honoured in gateway-trust mode and only with a valid signature, so headers a client sends on another path
+// are ignored and the caller falls back to validating the token itself.
+@Component
+public class GatewayIdentity {
+
+    @Value("${auth.gateway-trust.enabled:false}")
+    private boolean enabled;
+
+    @Value("${auth.gateway-trust.secret}")
+    private String secret;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() {
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public Optional<UserDTO> currentUser() {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return Optional.empty();
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String id = request.getHeader("X-User-Id");
+        String email = request.getHeader("X-User-Email");
+        String encodedName = request.getHeader("X-User-Name");
+        String expires = request.getHeader("X-User-Expires");
+        String signature = request.getHeader("X-User-Signature");
+        if (id == null || email == null || encodedName == null || expires == null || signature == null) {
+            return Optional.empty();
+        }
+        try {
+            if (Long.parseLong(expires) * 1000 <= System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+            byte[] expected = sign(String.join("\n", id, email, encodedName, expires));
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature))) {
+                return Optional.empty();
+            }
+            return Optional.of(new UserDTO(Long.parseLong(id), URLDecoder.decode(encodedName, StandardCharsets.UTF_8), email));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
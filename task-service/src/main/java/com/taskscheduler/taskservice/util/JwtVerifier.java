@@ -0,0 +1,51 @@
+package com.taskscheduler.taskservice.util;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Verifies tokens issued by user-service in-process, using the shared jwt.secret
+@Component
+public class JwtVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+    }
+
+    // Checks signature and expiry; throws JwtException or IllegalArgumentException when invalid
+    public Claims verify(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            throw new IllegalArgumentException("Invalid token format");
+        }
+        return parser.parseClaimsJws(authHeader.substring(BEARER_PREFIX.length())).getBody();
+    }
+
+    public UserDTO toUser(Claims claims) {
+        String email = claims.getSubject();
+        Long userId = claims.get("userId", Long.class);
+        String name = claims.get("name", String.class);
+        if (email == null || userId == null) {
+            throw new JwtException("Token is missing user claims");
+        }
+        if (name == null || name.isEmpty()) {
+            name = email.contains("@") ? email.split("@")[0] : email;
+        }
+        return new UserDTO(userId, name, email);
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.taskscheduler.taskservice.entity.enums.ProjectRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectRoleCacheTest {
+
+    private ProjectRoleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProjectRoleCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 30L);
+        cache.init();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ProjectRoleCache.Access> first = pool.submit(() -> cache.get(1L, 2L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return new ProjectRoleCache.Access(ProjectRole.ADMIN, true);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ProjectRoleCache.Access> second = pool.submit(() -> cache.get(1L, 2L, () -> {
+                loads.incrementAndGet();
+                return new ProjectRoleCache.Access(ProjectRole.MEMBER, true);
+            }));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).role()).isEqualTo(ProjectRole.ADMIN);
+            assertThat(second.get(5, TimeUnit.SECONDS).role()).isEqualTo(ProjectRole.ADMIN);
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidationDuringALoadIsNotUndoneByItsResult() {
+        ProjectRoleCache.Access stale = cache.get(1L, 2L, () -> {
+            // The role changes and is invalidated while this load is still reading the old one
+            cache.invalidate(1L, 2L);
+            return new ProjectRoleCache.Access(ProjectRole.ADMIN, true);
+        });
+        ProjectRoleCache.Access next = cache.get(1L, 2L, () -> new ProjectRoleCache.Access(ProjectRole.MEMBER, true));
+
+        assertThat(stale.role()).isEqualTo(ProjectRole.ADMIN);
+        assertThat(next.role()).isEqualTo(ProjectRole.MEMBER);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        try {
+            cache.get(1L, 2L, () -> {
+                throw new IllegalStateException("database down");
+            });
+        } catch (IllegalStateException expected) {
+            // next call loads again
+        }
+
+        assertThat(cache.get(1L, 2L, () -> new ProjectRoleCache.Access(null, true)).isMember()).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskscheduler.taskservice.cache;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserDirectoryCacheTest {
+
+    private UserDirectoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDirectoryCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "batchSize", 2);
+        cache.init();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<UserDTO>> first = pool.submit(() -> cache.getById(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Optional.of(new UserDTO(1L, "Ada", "ada@example.com"));
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<UserDTO>> second = pool.submit(() -> cache.getById(1L, () -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            }));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).map(UserDTO::getName).contains("Ada");
+            assertThat(second.get(5, TimeUnit.SECONDS)).map(UserDTO::getName).contains("Ada");
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void directoryChangeDuringALoadIsNotUndoneByItsResult() {
+        Optional<UserDTO> stale = cache.getById(1L, () -> {
+            // user-service bumps its version while this lookup is still reading the old row
+            cache.invalidateAll();
+            return Optional.of(new UserDTO(1L, "Ada", "ada@old.example.com"));
+        });
+        Optional<UserDTO> byId = cache.getById(1L, () -> Optional.of(new UserDTO(1L, "Ada", "ada@example.com")));
+        Optional<UserDTO> byOldEmail = cache.getByEmail("ada@old.example.com", Optional::empty);
+
+        assertThat(stale).map(UserDTO::getEmail).contains("ada@old.example.com");
+        assertThat(byId).map(UserDTO::getEmail).contains("ada@example.com");
+        assertThat(byOldEmail).isEmpty();
+    }
+
+    @Test
+    void batchLoadsOnlyMissingIdsAndCachesAbsentOnes() {
+        cache.getById(1L, () -> Optional.of(new UserDTO(1L, "Ada", "ada@example.com")));
+
+        Map<Long, Optional<UserDTO>> users = cache.getAllById(List.of(1L, 2L, 3L), missing -> {
+            assertThat(missing).containsExactlyInAnyOrder(2L, 3L);
+            return Map.of(2L, new UserDTO(2L, "Grace", "grace@example.com"));
+        });
+
+        assertThat(users.get(1L)).isPresent();
+        assertThat(users.get(2L)).map(UserDTO::getName).contains("Grace");
+        assertThat(users.get(3L)).isEmpty();
+        assertThat(cache.getById(3L, () -> Optional.of(new UserDTO(3L, "Late", null)))).isEmpty();
+        assertThat(cache.getByEmail("GRACE@example.com", Optional::empty)).isPresent();
+    }
+
+    @Test
+    void batchLoadsAreSplitIntoRequestsOfBatchSize() {
+        List<List<Long>> requests = new ArrayList<>();
+
+        Map<Long, Optional<UserDTO>> users = cache.getAllById(List.of(11L, 12L, 13L, 14L, 15L), missing -> {
+            requests.add(List.copyOf(missing));
+            return Map.of(missing.get(0), new UserDTO(missing.get(0), "First", null));
+        });
+
+        assertThat(requests).hasSize(3).allSatisfy(request -> assertThat(request).hasSizeLessThanOrEqualTo(2));
+        assertThat(requests).flatExtracting(request -> request).containsExactlyInAnyOrder(11L, 12L, 13L, 14L, 15L);
+        assertThat(users).hasSize(5);
+        assertThat(users.values().stream().filter(Optional::isPresent)).hasSize(3);
+    }
+
+    @Test
+    void failedBatchLoadRethrowsAndIsNotCached() {
+        assertThatThrownBy(() -> cache.getAllById(List.of(4L), missing -> {
+            throw new IllegalStateException("user-service down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getById(4L, () -> Optional.of(new UserDTO(4L, "Alan", null)))).isPresent();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
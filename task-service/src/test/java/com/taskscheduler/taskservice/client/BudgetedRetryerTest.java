@@ -0,0 +1,68 @@
+package com.taskscheduler.taskservice.client;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BudgetedRetryerTest {
+
+    private RetryBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        budget = new RetryBudget();
+        ReflectionTestUtils.setField(budget, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(budget, "ratio", 0.5);
+        ReflectionTestUtils.setField(budget, "maxRetries", 1);
+        budget.init();
+    }
+
+    @Test
+    void retriesStopWhenTheBudgetIsEmpty() {
+        Retryer prototype = new BudgetedRetryer(budget, 3, 0);
+
+        // The banked retry is spent by the first failing call; the second call's failure propagates straight away
+        assertThatCode(() -> prototype.clone().continueOrPropagate(failure())).doesNotThrowAnyException();
+        RetryableException second = failure();
+        assertThatThrownBy(() -> prototype.clone().continueOrPropagate(second)).isSameAs(second);
+    }
+
+    @Test
+    void callsEarnRetriesBack() {
+        Retryer prototype = new BudgetedRetryer(budget, 3, 0);
+        prototype.clone().continueOrPropagate(failure());
+
+        // Two calls at ratio 0.5 pay for one more retry
+        prototype.clone();
+        Retryer call = prototype.clone();
+
+        assertThatCode(() -> call.continueOrPropagate(failure())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> call.continueOrPropagate(failure())).isInstanceOf(RetryableException.class);
+    }
+
+    @Test
+    void attemptsPerCallAreCappedEvenWithBudget() {
+        ReflectionTestUtils.setField(budget, "maxRetries", 10);
+        budget.init();
+        Retryer call = new BudgetedRetryer(budget, 2, 0).clone();
+
+        assertThatCode(() -> call.continueOrPropagate(failure())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> call.continueOrPropagate(failure())).isInstanceOf(RetryableException.class);
+    }
+
+    private static RetryableException failure() {
+        Request request = Request.create(Request.HttpMethod.GET, "http://user-service/api/auth/lookup/1", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        return new RetryableException(-1, "Connection refused", Request.HttpMethod.GET, (Long) null, request);
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskscheduler.taskservice.client;
+
+import com.sun.net.httpserver.HttpServer;
+import com.taskscheduler.taskservice.service.UserService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// UserServiceClient through its circuit breaker and fallback against a stub user-service
+@SpringBootTest
+class UserServiceResilienceTest {
+
+    private static final AtomicInteger lookups = new AtomicInteger();
+
+    private static final HttpServer userService = startUserService();
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private Resilience4JCircuitBreakerFactory circuitBreakerFactory;
+
+    @DynamicPropertySource
+    static void userServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.user-service.url", () -> "http://127.0.0.1:" + userService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopUserService() {
+        userService.stop(0);
+    }
+
+    @AfterEach
+    void closeBreaker() {
+        breaker().reset();
+    }
+
+    @Test
+    void notFoundStillMeansNoSuchUser() {
+        int before = lookups.get();
+
+        assertThatThrownBy(() -> service.getUserById(940_001L, "Bearer test"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        // The 404 came back through the fallback as Optional.empty, which is cached, so asking again is local
+        assertThatThrownBy(() -> service.getUserById(940_001L, "Bearer test"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+
+        assertThat(lookups.get() - before).isEqualTo(1);
+    }
+
+    @Test
+    void openBreakerAnswers503WithoutCallingUserService() {
+        breaker().transitionToOpenState();
+        int before = lookups.get();
+
+        assertThatThrownBy(() -> service.getUserById(940_002L, "Bearer test"))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(e.getReason()).isEqualTo("User service is unavailable, please retry shortly");
+                });
+
+        assertThat(lookups.get()).isEqualTo(before);
+    }
+
+    // Created through the factory so it carries FeignConfig's settings, as the client's first call would
+    private CircuitBreaker breaker() {
+        circuitBreakerFactory.create("user-service");
+        return circuitBreakerFactory.getCircuitBreakerRegistry().circuitBreaker("user-service");
+    }
+
+    // Knows no users; the directory version is fixed so the poller never invalidates
+    private static HttpServer startUserService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/auth/lookup/", exchange -> {
+                if (exchange.getRequestURI().getPath().endsWith("/version")) {
+                    byte[] body = "1".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                } else {
+                    lookups.incrementAndGet();
+                    exchange.sendResponseHeaders(404, -1);
+                }
+                exchange.close();
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
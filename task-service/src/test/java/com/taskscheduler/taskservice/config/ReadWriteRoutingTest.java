@@ -0,0 +1,160 @@
+package com.taskscheduler.taskservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two H2 databases stand in for the primary and the replica; each holds a marker row naming itself, so a query
+// through the application's DataSource shows which pool served it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+        "spring.datasource.replica.lag-check-ms=3600000",
+        "task-counters.verify-on-startup=false"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        mark(primary, "primary");
+        mark(replica, "replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+        setReplicaLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearClientKey();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() {
+        assertThat(write()).isEqualTo("primary");
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() {
+        ReadWriteRoutingDataSource.setClientKey("writer");
+        write();
+        assertThat(read()).isEqualTo("primary");
+
+        ReadWriteRoutingDataSource.setClientKey("someone-else");
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void filterKeysStickinessByTheCallersToken() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter();
+        AtomicReference<String> sameCaller = new AtomicReference<>();
+        AtomicReference<String> otherCaller = new AtomicReference<>();
+
+        filter.doFilter(request("Bearer token-a"), new MockHttpServletResponse(), (request, response) -> write());
+        filter.doFilter(request("Bearer token-a"), new MockHttpServletResponse(), (request, response) -> sameCaller.set(read()));
+        filter.doFilter(request("Bearer token-b"), new MockHttpServletResponse(), (request, response) -> otherCaller.set(read()));
+
+        assertThat(sameCaller).hasValue("primary");
+        assertThat(otherCaller).hasValue("replica");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        setReplicaLag(60);
+        assertThat(read()).isEqualTo("primary");
+
+        setReplicaLag(0);
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void transactionReportsThePoolItWasRoutedTo() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate nested = new TransactionTemplate(transactionManager);
+        nested.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+
+        readOnly.executeWithoutResult(outer -> {
+            assertThat(ReadWriteRoutingDataSource.currentTarget()).isNull();
+            marker();
+            assertThat(ReadWriteRoutingDataSource.currentTarget()).isEqualTo(ReadWriteRoutingDataSource.Target.REPLICA);
+            nested.executeWithoutResult(inner -> {
+                marker();
+                assertThat(ReadWriteRoutingDataSource.currentTarget()).isEqualTo(ReadWriteRoutingDataSource.Target.PRIMARY);
+            });
+            assertThat(ReadWriteRoutingDataSource.currentTarget()).isEqualTo(ReadWriteRoutingDataSource.Target.REPLICA);
+        });
+        assertThat(ReadWriteRoutingDataSource.currentTarget()).isNull();
+    }
+
+    private String read() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> marker());
+    }
+
+    private String write() {
+        return new TransactionTemplate(transactionManager).execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM db_marker", String.class);
+    }
+
+    private void setReplicaLag(double seconds) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replica_lag");
+        replicaJdbc.update("INSERT INTO replica_lag (seconds) VALUES (?)", seconds);
+        replicaLagMonitor.check();
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static void mark(DataSource target, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS db_marker (name VARCHAR(20))");
+        jdbc.update("DELETE FROM db_marker");
+        jdbc.update("INSERT INTO db_marker (name) VALUES (?)", name);
+    }
+}
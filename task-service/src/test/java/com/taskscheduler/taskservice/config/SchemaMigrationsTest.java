@@ -0,0 +1,58 @@
+package com.taskscheduler.taskservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SchemaMigrationsTest {
+
+    @Autowired
+    private SchemaMigrations schemaMigrations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsAreRecordedOnce() {
+        schemaMigrations.migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class))
+                .startsWith(1, 2)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rerunningAVersionRebuildsAnIndexDeclaredOverOtherColumns() {
+        // What ddl-auto=update leaves behind when an index keeps its name but changes columns
+        schemaMigrations.dropIndex("tasks", "idx_tasks_user_start");
+        jdbcTemplate.execute("CREATE INDEX idx_tasks_user_start ON tasks (start_time)");
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE version = 1");
+
+        schemaMigrations.migrate();
+
+        assertThat(schemaMigrations.indexColumns("tasks", "idx_tasks_user_start")).isEqualTo(List.of("user_id", "start_time"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations WHERE version = 1", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void priorityRankMigrationRanksOldRowsAndEnforcesTheRange() {
+        jdbcTemplate.update("INSERT INTO tasks (id, version, description, start_time, end_time, done, priority, priority_rank, category, user_id) " +
+                "VALUES (NEXT VALUE FOR tasks_seq, 0, 'Old row', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE, 'High', 4, 'Work', 910001)");
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE version = 2");
+
+        schemaMigrations.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT priority_rank FROM tasks WHERE user_id = 910001", Integer.class)).isEqualTo(1);
+        assertThat(schemaMigrations.constraintExists("tasks", "ck_tasks_priority_rank")).isTrue();
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE tasks SET priority_rank = 9 WHERE user_id = 910001"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskscheduler.taskservice.controller;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GETs of the polled listings: an unchanged listing answers 304 to its own tag, and a write moves the tag
+@SpringBootTest
+@AutoConfigureMockMvc
+class ETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void personalTasksAnswerNotModifiedUntilATaskChanges() throws Exception {
+        String auth = token(960_001L);
+        String etag = etagOf("/api/tasks/all", auth);
+
+        mockMvc.perform(get("/api/tasks/all").header(HttpHeaders.AUTHORIZATION, auth).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(post("/api/tasks/add").header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Write\",\"startTime\":\"2030-01-01T09:00:00\",\"endTime\":\"2030-01-01T10:00:00\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/tasks/all").header(HttpHeaders.AUTHORIZATION, auth).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(etagOf("/api/tasks/all", auth)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void pagesOfOneListingCarryTheirOwnTags() throws Exception {
+        String auth = token(960_002L);
+
+        assertThat(etagOf("/api/tasks/all?limit=10", auth)).isNotEqualTo(etagOf("/api/tasks/all", auth));
+    }
+
+    @Test
+    void projectsListingMovesWhenAProjectIsCreated() throws Exception {
+        String auth = token(960_003L);
+        String etag = etagOf("/api/projects", auth);
+
+        mockMvc.perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, auth).header(HttpHeaders.IF_NONE_MATCH, "W/\"other\", " + etag))
+                .andExpect(status().isNotModified());
+
+        createProject(auth);
+
+        mockMvc.perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, auth).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void projectTasksTagIsNotGivenToNonMembers() throws Exception {
+        String owner = token(960_004L);
+        long projectId = createProject(owner);
+        String path = "/api/projects/" + projectId + "/tasks";
+        String etag = etagOf(path, owner);
+
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, token(960_005L)).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void dashboardAnswersNotModifiedToItsTag() throws Exception {
+        String auth = token(960_006L);
+        String etag = etagOf("/api/dashboard", auth);
+
+        mockMvc.perform(get("/api/dashboard").header(HttpHeaders.AUTHORIZATION, auth).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String path, String auth) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+
+    private long createProject(String auth) throws Exception {
+        String body = mockMvc.perform(post("/api/projects").header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Tagged\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+    }
+
+    private String token(long userId) {
+        return "Bearer " + Jwts.builder()
+                .setSubject("user" + userId + "@example.com")
+                .claim("userId", userId)
+                .claim("name", "User " + userId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskscheduler.taskservice.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Token validation against a failing user-service: clients get 503 and keep their session rather than a 401
+@SpringBootTest(properties = {
+        "auth.token-validation.mode=remote",
+        "services.user-service.retry.max-attempts=1",
+        "services.user-service.circuit-breaker.window-size=4",
+        "services.user-service.circuit-breaker.minimum-calls=4"
+})
+@AutoConfigureMockMvc
+class UserServiceDownTest {
+
+    private static final AtomicInteger validations = new AtomicInteger();
+
+    private static final HttpServer userService = startUserService();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Resilience4JCircuitBreakerFactory circuitBreakerFactory;
+
+    @DynamicPropertySource
+    static void userServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.user-service.url", () -> "http://127.0.0.1:" + userService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopUserService() {
+        userService.stop(0);
+    }
+
+    @Test
+    void taskHandlersAnswer503WhileTheBreakerTripsAndStaysOpen() throws Exception {
+        circuitBreakerFactory.create("user-service");
+        CircuitBreaker breaker = circuitBreakerFactory.getCircuitBreakerRegistry().circuitBreaker("user-service");
+
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/api/tasks/all").header(HttpHeaders.AUTHORIZATION, "Bearer test"))
+                    .andExpect(status().isServiceUnavailable());
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int before = validations.get();
+        mockMvc.perform(get("/api/tasks/get/1").header(HttpHeaders.AUTHORIZATION, "Bearer test"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/tasks/statistics").header(HttpHeaders.AUTHORIZATION, "Bearer test"))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(validations.get()).isEqualTo(before);
+    }
+
+    // Fails every token validation with a 500
+    private static HttpServer startUserService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/auth/validate", exchange -> {
+                validations.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.taskscheduler.taskservice.repository;
+
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+// Runs each finder, captures the SQL Hibernate generated for it and checks H2's plan for that statement over seeded
+// rows. A finder whose query or entity mapping changes so that it falls back to a table scan (or to another index)
+// fails here instead of in production. Whole-table aggregates used by the counter rebuild are left out: they scan by
+// design.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.taskscheduler.taskservice.repository.IndexUsageTest$CapturedStatements")
+class IndexUsageTest {
+
+    // Seeded rows belong to users OWNER .. OWNER + 99; the finders query one of them
+    private static final Long OWNER = 950_000L;
+
+    private static final Long USER = OWNER + 7;
+
+    private static final String PRIMARY_KEY = "primary_key";
+
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)(.*?)\\*/", Pattern.DOTALL);
+
+    private static final Pattern SEEK_COLUMN = Pattern.compile("(?:: |AND )\\s*\"?(\\w+)\"? *(?:[<>=]|IN\\b)");
+
+    private static final Pattern WHERE_EQUALITY = Pattern.compile(" where \\w+\\.(\\w+)=\\?");
+
+    private static final Pattern ORDER_BY = Pattern.compile(" order by (.+?)(?: offset| fetch|$)");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskRepository projectTaskRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long project;
+
+    static Stream<Arguments> orderings() {
+        return Stream.of(
+                finder("Task: all by rank", "idx_tasks_user_rank_end",
+                        t -> t.taskRepository.findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(USER)),
+                finder("Task: first page by rank", "idx_tasks_user_rank_end",
+                        t -> t.taskRepository.findByUserIdOrderByPriorityRankAscEndTimeAscIdAsc(USER, PageRequest.of(0, 20))),
+                finder("Task: keyset page by rank", "idx_tasks_user_rank_end",
+                        t -> t.taskRepository.findPageAfterByUserId(USER, 2, NOW, 10L, PageRequest.of(0, 20))),
+                finder("ProjectTask: all by created", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findByProjectIdOrderByCreatedAtDesc(t.project)),
+                finder("ProjectTask: first page", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findByProjectIdOrderByCreatedAtDescIdDesc(t.project, PageRequest.of(0, 20))),
+                finder("ProjectTask: keyset page", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findPageBeforeByProjectId(t.project, NOW, 10L, PageRequest.of(0, 20)))
+        );
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                finder("Task: keyset page by rank", "idx_tasks_user_rank_end",
+                        t -> t.taskRepository.findPageAfterByUserId(USER, 2, NOW, 10L, PageRequest.of(0, 20))),
+                finder("Task: stream open", "idx_tasks_user_done_end",
+                        t -> drain(t.taskRepository.streamOpenByUserId(USER))),
+                finder("Task: by id and user", PRIMARY_KEY,
+                        t -> t.taskRepository.findByIdAndUserId(10L, USER)),
+                finder("Task: by user and ids", PRIMARY_KEY,
+                        t -> t.taskRepository.findByUserIdAndIdIn(USER, List.of(10L, 11L))),
+                finder("Task: by done", "idx_tasks_user_done_end",
+                        t -> t.taskRepository.findByDoneAndUserId(false, USER)),
+                finder("Task: by priority", "idx_tasks_user_priority",
+                        t -> t.taskRepository.findByPriorityAndUserId("High", USER)),
+                finder("Task: by category", "idx_tasks_user_category",
+                        t -> t.taskRepository.findByCategoryAndUserId("Work", USER)),
+                finder("Task: overdue", "idx_tasks_user_done_end",
+                        t -> t.taskRepository.findOverdueTasksByUserId(USER, NOW)),
+                finder("Task: starting soon", "idx_tasks_user_start",
+                        t -> t.taskRepository.findTasksStartingSoonByUserId(USER, NOW, NOW.plusHours(1))),
+                finder("Task: between", "idx_tasks_user_start",
+                        t -> t.taskRepository.findTasksBetweenByUserId(USER, NOW, NOW.plusDays(1))),
+                finder("Task: count by done", "idx_tasks_user_done_end",
+                        t -> t.taskRepository.countByUserIdAndDone(USER, true)),
+                finder("Task: count by priority", "idx_tasks_user_priority",
+                        t -> t.taskRepository.countByUserIdAndPriority(USER, "High")),
+                finder("Task: count by category", "idx_tasks_user_category",
+                        t -> t.taskRepository.countByUserIdAndCategory(USER, "Work")),
+                finder("Task: count overdue", "idx_tasks_user_done_end",
+                        t -> t.taskRepository.countOverdueTasksByUserId(USER, NOW)),
+                finder("Task: count between", "idx_tasks_user_start",
+                        t -> t.taskRepository.countTasksBetweenByUserId(USER, NOW, NOW.plusDays(1))),
+                finder("Task: aggregate counts", "idx_tasks_user_priority",
+                        t -> t.taskRepository.aggregateCountsByUserId(USER, NOW, NOW.plusDays(1), NOW)),
+                finder("Task: exists by id and user", PRIMARY_KEY,
+                        t -> t.taskRepository.existsByIdAndUserId(10L, USER)),
+
+                finder("ProjectTask: all by created", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findByProjectIdOrderByCreatedAtDesc(t.project)),
+                finder("ProjectTask: by id and project", PRIMARY_KEY,
+                        t -> t.projectTaskRepository.findByIdAndProjectId(10L, t.project)),
+                finder("ProjectTask: by project and ids", PRIMARY_KEY,
+                        t -> t.projectTaskRepository.findByProjectIdAndIdIn(t.project, List.of(10L, 11L))),
+                finder("ProjectTask: first page", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findByProjectIdOrderByCreatedAtDescIdDesc(t.project, PageRequest.of(0, 20))),
+                finder("ProjectTask: keyset page", "idx_project_tasks_project_created",
+                        t -> t.projectTaskRepository.findPageBeforeByProjectId(t.project, NOW, 10L, PageRequest.of(0, 20))),
+                finder("ProjectTask: count by project", "idx_project_tasks_project_status",
+                        t -> t.projectTaskRepository.countByProjectId(t.project)),
+                finder("ProjectTask: assignees of project", "idx_project_tasks_project_status",
+                        t -> t.projectTaskRepository.findAssigneeIdsByProjectId(t.project)),
+                finder("ProjectTask: count by status", "idx_project_tasks_project_status",
+                        t -> t.projectTaskRepository.countByProjectIdAndStatus(t.project, ProjectTaskStatus.DONE)),
+                finder("ProjectTask: count by assignee", "idx_project_tasks_assignee_status_due",
+                        t -> t.projectTaskRepository.countByAssignedUserId(USER)),
+                finder("ProjectTask: count by assignee and status", "idx_project_tasks_assignee_status_due",
+                        t -> t.projectTaskRepository.countByAssignedUserIdAndStatus(USER, ProjectTaskStatus.TODO)),
+                finder("ProjectTask: count assignee overdue", "idx_project_tasks_assignee_status_due",
+                        t -> t.projectTaskRepository.countOverdueByAssignedUserId(USER, LocalDate.of(2026, 1, 1))),
+                finder("ProjectTask: overdue in project", "idx_project_tasks_project_status",
+                        t -> t.projectTaskRepository.findOverdueByProject(t.project, LocalDate.of(2026, 1, 1))),
+                finder("ProjectTask: stream open assigned", "idx_project_tasks_assignee_status_due",
+                        t -> drain(t.projectTaskRepository.streamOpenByAssignedUserId(USER))),
+                finder("ProjectTask: assignee counts in project", "idx_project_tasks_project_status",
+                        t -> t.projectTaskRepository.countByAssigneeAndStatusForProject(t.project)),
+                finder("ProjectTask: status counts of assignee", "idx_project_tasks_assignee_status_due",
+                        t -> t.projectTaskRepository.countByStatusForAssignee(USER)),
+
+                finder("ProjectMember: by project and user", "uk_project_member",
+                        t -> t.projectMemberRepository.findByProjectIdAndUserId(t.project, USER)),
+                finder("ProjectMember: with project", "uk_project_member",
+                        t -> t.projectMemberRepository.findWithProjectByProjectIdAndUserId(t.project, USER)),
+                finder("ProjectMember: exists", "uk_project_member",
+                        t -> t.projectMemberRepository.existsByProjectIdAndUserId(t.project, USER)),
+                finder("ProjectMember: by project", "uk_project_member",
+                        t -> t.projectMemberRepository.findByProjectId(t.project)),
+                finder("ProjectMember: count by project", "uk_project_member",
+                        t -> t.projectMemberRepository.countByProjectId(t.project)),
+                finder("ProjectMember: by user", "idx_project_members_user",
+                        t -> t.projectMemberRepository.findByUserId(USER)),
+                finder("ProjectMember: summaries of user", "idx_project_members_user",
+                        t -> t.projectMemberRepository.findProjectSummariesByUserId(USER)),
+                finder("ProjectMember: progress of user", "idx_project_members_user",
+                        t -> t.projectMemberRepository.findProjectProgressByUserId(USER))
+        );
+    }
+
+    @BeforeEach
+    void seed() {
+        Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects WHERE owner_id = ?", Integer.class, OWNER);
+        if (seeded == null || seeded == 0) {
+            seedRows();
+        }
+        project = jdbcTemplate.queryForObject("SELECT MIN(id) FROM projects WHERE owner_id = ?", Long.class, OWNER);
+    }
+
+    private void seedRows() {
+        jdbcTemplate.update("INSERT INTO projects (name, owner_id, created_at, updated_at) " +
+                "SELECT 'Plan ' || x, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 50)", OWNER);
+        jdbcTemplate.update("INSERT INTO tasks (id, description, start_time, end_time, done, priority, priority_rank, category, user_id) " +
+                "SELECT ? * 1000 + x, 'Task ' || x, DATEADD('HOUR', x, CURRENT_TIMESTAMP), DATEADD('HOUR', x + 2, CURRENT_TIMESTAMP), MOD(x, 3) = 0, " +
+                "CASE MOD(x, 3) WHEN 0 THEN 'High' WHEN 1 THEN 'Medium' ELSE 'Low' END, MOD(x, 3) + 1, " +
+                "CASE MOD(x, 4) WHEN 0 THEN 'Work' ELSE 'Personal' END, ? + MOD(x, 100) FROM SYSTEM_RANGE(1, 5000)", OWNER, OWNER);
+        jdbcTemplate.update("INSERT INTO project_tasks (id, project_id, title, status, priority, due_date, assigned_user_id, " +
+                "created_by_user_id, created_at, updated_at) " +
+                "SELECT ? * 1000 + x, p.id, 'Item ' || x, CASE MOD(x, 3) WHEN 0 THEN 'DONE' WHEN 1 THEN 'TODO' ELSE 'IN_PROGRESS' END, 'MEDIUM', " +
+                "DATEADD('DAY', MOD(x, 30), CURRENT_DATE), ? + MOD(x, 100), ?, DATEADD('MINUTE', x, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 5000) JOIN projects p ON p.owner_id = ? AND p.name = 'Plan ' || (MOD(x, 50) + 1)",
+                OWNER, OWNER, OWNER, OWNER);
+        jdbcTemplate.update("INSERT INTO project_members (project_id, user_id, role, joined_at) " +
+                "SELECT p.id, ? + MOD(p.id + x, 100), 'MEMBER', CURRENT_TIMESTAMP FROM projects p, SYSTEM_RANGE(1, 20) " +
+                "WHERE p.owner_id = ?", OWNER, OWNER);
+        // Selectivity from the data instead of H2's defaults, so the plan reflects a populated table
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesItsIndex(String finder, String index, Consumer<IndexUsageTest> call) {
+        String sql = firstStatementOf(finder, call);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        Matcher access = PLAN_INDEX.matcher(plan);
+        List<String> used = new ArrayList<>();
+        while (access.find()) {
+            used.add(access.group(1).toLowerCase());
+            if (servedBy(access.group(1).toLowerCase(), access.group(2), index)) {
+                return;
+            }
+        }
+
+        throw new AssertionError(finder + " reads through " + used + ", not " + index + ":\n" + sql + "\n" + plan);
+    }
+
+    // The plan may read through another index at equal cost, such as the one H2 creates for a foreign key where MySQL
+    // reuses the first index leading with the column. That is as good when the columns the plan seeks on lead both.
+    private boolean servedBy(String used, String condition, String index) {
+        if (isIndex(used, index)) {
+            return true;
+        }
+        List<String> seek = new ArrayList<>();
+        Matcher column = SEEK_COLUMN.matcher(condition);
+        while (column.find()) {
+            seek.add(column.group(1).toLowerCase());
+        }
+        return !seek.isEmpty() && startsWith(indexColumns(index), seek) && startsWith(indexColumns(used), seek);
+    }
+
+    private static boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    // H2 reads rows in index order only when the ORDER BY starts at the index's first column, so an ordering after an
+    // equality prefix is sorted in memory whatever the index. MySQL and PostgreSQL skip the equality columns; for them
+    // the generated statement is served in index order when its equality column and ORDER BY columns, in one
+    // direction, are the leading columns of the index.
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("orderings")
+    void orderingFollowsItsIndex(String finder, String index, Consumer<IndexUsageTest> call) {
+        String sql = firstStatementOf(finder, call);
+        Matcher equality = WHERE_EQUALITY.matcher(sql);
+        Matcher ordering = ORDER_BY.matcher(sql);
+        assertThat(equality.find() && ordering.find()).as("equality and ORDER BY in %s", sql).isTrue();
+
+        List<String> key = new ArrayList<>(List.of(equality.group(1)));
+        Set<String> directions = new HashSet<>();
+        for (String term : ordering.group(1).split(",")) {
+            String[] parts = term.trim().split("\\s+");
+            key.add(parts[0].substring(parts[0].indexOf('.') + 1));
+            directions.add(parts.length > 1 ? parts[1] : "asc");
+        }
+
+        assertThat(directions).as("directions in %s", sql).hasSize(1);
+        assertThat(indexColumns(index)).as("%s for %s", index, sql).startsWith(key.toArray(String[]::new));
+    }
+
+    private String firstStatementOf(String finder, Consumer<IndexUsageTest> call) {
+        CapturedStatements.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> call.accept(this));
+        List<String> statements = CapturedStatements.taken();
+        assertThat(statements).as("statements run by %s", finder).isNotEmpty();
+        // The finder's own query is the first statement; later ones would be lazy loads
+        return statements.get(0);
+    }
+
+    // H2 names the index behind a constraint after it, as in PRIMARY_KEY_4 or UK_PROJECT_MEMBER_INDEX_E
+    private static boolean isIndex(String used, String index) {
+        return used.equals(index) || used.startsWith(index + "_");
+    }
+
+    private List<String> indexColumns(String index) {
+        return jdbcTemplate.query("SELECT LOWER(column_name), LOWER(index_name) FROM information_schema.index_columns " +
+                "ORDER BY ordinal_position", (row, i) -> isIndex(row.getString(2), index) ? row.getString(1) : null)
+                .stream().filter(Objects::nonNull).toList();
+    }
+
+    private static void drain(Stream<?> rows) {
+        try (rows) {
+            rows.forEach(row -> {
+            });
+        }
+    }
+
+    private static Arguments finder(String name, String index, Consumer<IndexUsageTest> call) {
+        return arguments(name, index, call);
+    }
+
+    // Registered as Hibernate's statement inspector for this context; records every statement as generated
+    public static class CapturedStatements implements StatementInspector {
+        private static final List<String> statements = new ArrayList<>();
+
+        static synchronized void clear() {
+            statements.clear();
+        }
+
+        static synchronized List<String> taken() {
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CapturedStatements.class) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
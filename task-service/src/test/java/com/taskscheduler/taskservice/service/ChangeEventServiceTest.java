@@ -0,0 +1,190 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeEventServiceTest {
+
+    private ChangeEventService service;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Holds dispatched drains until the test runs them, standing in for a dispatcher stuck in send()
+    private final ManualExecutor dispatcher = new ManualExecutor();
+
+    @BeforeEach
+    void setUp() {
+        service = new ChangeEventService();
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "bufferSize", 2);
+        ReflectionTestUtils.setField(service, "historySize", 16);
+        ReflectionTestUtils.setField(service, "historySeconds", 300L);
+        ReflectionTestUtils.setField(service, "maxConnectionsPerUser", 5);
+        ReflectionTestUtils.setField(service, "dispatchThreads", 1);
+        ReflectionTestUtils.setField(service, "retryMs", 3000L);
+        ReflectionTestUtils.setField(service, "sendTimeoutMs", 200L);
+        ReflectionTestUtils.setField(service, "maxStalledSends", 64);
+        service.init();
+        ReflectionTestUtils.setField(service, "dispatcher", dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void overflowEvictsWithoutCompletingOnThePublisherThread() {
+        SseEmitter emitter = service.subscribe(1L, null);
+        assertThat(dispatcher.pending).hasSize(1);
+
+        // The hello frame and one event fill the buffer of two; the next event overflows it
+        service.taskChanged(1L, "updated", 10L, null);
+        service.taskChanged(1L, "updated", 11L, null);
+
+        assertThat(meterRegistry.counter("events.sse.evictions").count()).isEqualTo(1.0);
+        assertThat(isComplete(emitter)).isFalse();
+        assertThat(dispatcher.pending).hasSize(1);
+
+        dispatcher.runPending();
+
+        assertThat(isComplete(emitter)).isTrue();
+        assertThat(dispatcher.pending).isEmpty();
+    }
+
+    @Test
+    void streamsStalledInSendDoNotHoldUpHealthyOnes() throws Exception {
+        ReflectionTestUtils.setField(service, "dispatchThreads", 2);
+        service.init();
+        ExecutorService pool = (ExecutorService) ReflectionTestUtils.getField(service, "dispatcher");
+        CountDownLatch stalling = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        try {
+            // Three clients that stopped reading, one more than there are dispatch threads
+            List<SseEmitter> stalled = new ArrayList<>();
+            for (long userId = 1; userId <= 3; userId++) {
+                SseEmitter emitter = service.subscribe(userId, null);
+                connect(emitter, () -> {
+                    stalling.countDown();
+                    awaitQuietly(release);
+                });
+                stalled.add(emitter);
+            }
+            connect(service.subscribe(4L, null), delivered::countDown);
+
+            for (long userId = 1; userId <= 3; userId++) {
+                service.taskChanged(userId, "updated", userId, null);
+            }
+            // Both dispatch threads are stuck before the healthy stream has anything to send
+            assertThat(stalling.await(5, TimeUnit.SECONDS)).isTrue();
+            service.taskChanged(4L, "updated", 4L, null);
+
+            long started = System.nanoTime();
+            while (!delivered.await(50, TimeUnit.MILLISECONDS)) {
+                service.expireStalledSends();
+                assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+            }
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+            assertThat(meterRegistry.counter("events.sse.evictions").count()).isGreaterThanOrEqualTo(2.0);
+
+            // Once the stuck writes fail, the dropped streams are completed and the pool shrinks back
+            release.countDown();
+            while (((ThreadPoolExecutor) pool).getCorePoolSize() != 2
+                    || stalled.stream().filter(ChangeEventServiceTest::isComplete).count() != (long) meterRegistry.counter("events.sse.evictions").count()) {
+                Thread.sleep(20);
+                assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(10));
+            }
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    // Stands in for the servlet response: event frames run onEvent, the stream's comment frames pass straight through
+    private static void connect(SseEmitter emitter, Runnable onEvent) throws Exception {
+        Class<?> handlerType = Class.forName(SseEmitter.class.getSuperclass().getName() + "$Handler");
+        Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[]{handlerType}, (proxy, method, args) -> {
+            if (method.getName().equals("send") && args.length == 1 && ((Collection<?>) args[0]).stream()
+                    .anyMatch(part -> ReflectionTestUtils.getField(part, "data") instanceof ChangeEvent)) {
+                onEvent.run();
+            }
+            return null;
+        });
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isComplete(SseEmitter emitter) {
+        return (Boolean) ReflectionTestUtils.getField(emitter, "complete");
+    }
+
+    private static class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> pending = new ArrayList<>();
+
+        void runPending() {
+            while (!pending.isEmpty()) {
+                pending.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            pending.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            pending.clear();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> dropped = new ArrayList<>(pending);
+            pending.clear();
+            return dropped;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.entity.UserChangeVersion;
+import com.taskscheduler.taskservice.repository.UserChangeVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ChangeVersionServiceTest {
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private UserChangeVersionRepository userChangeVersionRepository;
+
+    @Test
+    void concurrentFirstBumpsForOneUserAllCount() throws Exception {
+        long userId = 950_001L;
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                boolean tasks = i % 2 == 0;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    // Each call is its own transaction, like two requests creating the user's first rows
+                    if (tasks) {
+                        changeVersionService.personalTasksChanged(userId);
+                    } else {
+                        changeVersionService.membershipsChanged(userId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        UserChangeVersion version = userChangeVersionRepository.findById(userId).orElseThrow();
+        assertThat(version.getTasksVersion()).isEqualTo(writers / 2);
+        assertThat(version.getProjectsVersion()).isEqualTo(writers / 2);
+        assertThat(version.getAssignedVersion()).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.dto.project.CreateProjectRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Views driven by the caller's memberships must cost the same number of statements for one project as for many,
+// and must not load entities row by row through membership.project.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MembershipViewsNPlusOneTest {
+
+    @Autowired
+    private ProjectManagementService projectManagementService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Same context as ProjectAccessStatementCountTest
+    @MockBean
+    private UserService userService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void myProjectsIsOneQueryForAnyNumberOfProjects() {
+        UserDTO few = userWithProjects(930_001L, 1);
+        UserDTO many = userWithProjects(930_002L, 6);
+
+        Counts one = countsFor(() -> assertThat(projectManagementService.getMyProjects(few)).hasSize(1));
+        Counts six = countsFor(() -> assertThat(projectManagementService.getMyProjects(many)).hasSize(6));
+
+        assertThat(six).isEqualTo(one);
+        assertThat(six.statements()).isEqualTo(1);
+        assertThat(six.entityLoads()).isZero();
+    }
+
+    @Test
+    void dashboardProjectProgressDoesNotGrowWithProjects() {
+        UserDTO few = userWithProjects(930_003L, 1);
+        UserDTO many = userWithProjects(930_004L, 6);
+
+        Counts one = countsFor(() -> dashboardService.getDashboard(few));
+        Counts six = countsFor(() -> dashboardService.getDashboard(many));
+
+        assertThat(six).isEqualTo(one);
+        assertThat(six.entityLoads()).isZero();
+    }
+
+    private UserDTO userWithProjects(Long userId, int projects) {
+        UserDTO user = new UserDTO(userId, "User " + userId, userId + "@example.com");
+        for (int i = 0; i < projects; i++) {
+            CreateProjectRequest request = new CreateProjectRequest();
+            request.setName("Project " + i);
+            projectManagementService.createProject(request, user);
+        }
+        return user;
+    }
+
+    private Counts countsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return new Counts(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+    }
+
+    private record Counts(long statements, long entityLoads) {
+    }
+}
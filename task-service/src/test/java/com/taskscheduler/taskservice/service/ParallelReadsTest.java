@@ -0,0 +1,89 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelReadsTest {
+
+    private ParallelReads parallelReads;
+
+    @BeforeEach
+    void setUp() {
+        parallelReads = new ParallelReads();
+        ReflectionTestUtils.setField(parallelReads, "transactionManager", Mockito.mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(parallelReads, "enabled", true);
+        ReflectionTestUtils.setField(parallelReads, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(parallelReads, "timeoutMs", 5000L);
+        parallelReads.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearClientKey();
+        parallelReads.shutdown();
+    }
+
+    @Test
+    void cancelledBranchHoldsItsSlotUntilTheWorkerStops() throws Exception {
+        Semaphore slots = (Semaphore) ReflectionTestUtils.getField(parallelReads, "slots");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        try (ParallelReads.Scope scope = parallelReads.open()) {
+            scope.fork(() -> {
+                running.countDown();
+                // Like a JDBC call, the read does not stop when its thread is interrupted
+                awaitUninterruptibly(release);
+                stopped.countDown();
+                return null;
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(slots.availablePermits()).isZero();
+        release.countDown();
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slots.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void branchesRouteWithTheCallersClientKey() {
+        ReadWriteRoutingDataSource.setClientKey("client-1");
+        try (ParallelReads.Scope scope = parallelReads.open()) {
+            assertThat(scope.fork(ReadWriteRoutingDataSource::currentClientKey).join()).isEqualTo("client-1");
+        }
+
+        // The worker thread does not keep the key for the next caller's branch
+        ReadWriteRoutingDataSource.clearClientKey();
+        try (ParallelReads.Scope scope = parallelReads.open()) {
+            assertThat(scope.fork(ReadWriteRoutingDataSource::currentClientKey).join()).isNull();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.cache.ProjectRoleCache;
+import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.dto.project.CreateProjectRequest;
+import com.taskscheduler.taskservice.dto.task.CreateProjectTaskRequest;
+import com.taskscheduler.taskservice.dto.task.UpdateProjectTaskRequest;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskPriority;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JDBC statements per project endpoint with a cold role cache: access is one joined select, never a project lookup
+// followed by a membership lookup. A new per-request query shows up here as a changed count.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectAccessStatementCountTest {
+
+    private static final UserDTO OWNER = new UserDTO(920_001L, "Owner", "owner@example.com");
+
+    @Autowired
+    private ProjectManagementService projectManagementService;
+
+    @Autowired
+    private ProjectTaskManagementService projectTaskManagementService;
+
+    @Autowired
+    private ProjectRoleCache projectRoleCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Assignee and member names come from user-service
+    @MockBean
+    private UserService userService;
+
+    private Statistics statistics;
+
+    private Long projectId;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Statements");
+        projectId = projectManagementService.createProject(project, OWNER).getId();
+        taskId = projectTaskManagementService.createTask(projectId, newTask(), OWNER, null).getId();
+    }
+
+    @Test
+    void getProject() {
+        assertThat(statementsFor(() -> projectManagementService.getProject(projectId, OWNER, null))).isEqualTo(3);
+    }
+
+    @Test
+    void getProjectTasks() {
+        assertThat(statementsFor(() -> projectTaskManagementService.getProjectTasks(projectId, OWNER, null))).isEqualTo(2);
+    }
+
+    @Test
+    void createTask() {
+        assertThat(statementsFor(() -> projectTaskManagementService.createTask(projectId, newTask(), OWNER, null))).isEqualTo(4);
+    }
+
+    @Test
+    void updateTask() {
+        UpdateProjectTaskRequest update = new UpdateProjectTaskRequest();
+        update.setTitle("Renamed");
+        update.setPriority(ProjectTaskPriority.HIGH);
+        update.setStatus(ProjectTaskStatus.DONE);
+        assertThat(statementsFor(() -> projectTaskManagementService.updateTask(projectId, taskId, update, OWNER, null))).isEqualTo(6);
+    }
+
+    private long statementsFor(Runnable call) {
+        projectRoleCache.invalidateProject(projectId);
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static CreateProjectTaskRequest newTask() {
+        CreateProjectTaskRequest task = new CreateProjectTaskRequest();
+        task.setTitle("Count me");
+        return task;
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.BulkResponse;
+import com.taskscheduler.taskservice.dto.UserDTO;
+import com.taskscheduler.taskservice.dto.project.CreateProjectRequest;
+import com.taskscheduler.taskservice.dto.task.BulkProjectTaskStatusRequest;
+import com.taskscheduler.taskservice.dto.task.CreateProjectTaskRequest;
+import com.taskscheduler.taskservice.dto.task.ProjectTaskResponse;
+import com.taskscheduler.taskservice.entity.Project;
+import com.taskscheduler.taskservice.entity.UserTaskCounter;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskPriority;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import com.taskscheduler.taskservice.repository.ProjectRepository;
+import com.taskscheduler.taskservice.repository.UserTaskCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Same context as ProjectAccessStatementCountTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectTaskBulkStatusTest {
+
+    private static final Long OWNER_ID = 940_101L;
+
+    @Autowired
+    private ProjectManagementService projectManagementService;
+
+    @Autowired
+    private ProjectTaskManagementService projectTaskManagementService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserTaskCounterRepository userTaskCounterRepository;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void statusChangesMoveProjectAndAssigneeCounters() {
+        UserDTO owner = new UserDTO(OWNER_ID, "Owner", OWNER_ID + "@example.com");
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Board");
+        Long projectId = projectManagementService.createProject(project, owner).getId();
+        List<CreateProjectTaskRequest> creates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            creates.add(task("Card " + i));
+        }
+        List<Long> ids = projectTaskManagementService.createTasks(projectId, creates, owner, "Bearer token").getResults().stream()
+                .map(BulkResponse.Item::getId)
+                .toList();
+
+        BulkResponse<ProjectTaskResponse> moved = projectTaskManagementService.updateTaskStatuses(projectId, List.of(
+                status(ids.get(0), ProjectTaskStatus.DONE),
+                status(ids.get(1), ProjectTaskStatus.IN_PROGRESS),
+                status(ids.get(2), null),
+                status(-1L, ProjectTaskStatus.DONE)), owner, "Bearer token");
+
+        assertThat(moved.getSucceeded()).isEqualTo(2);
+        assertThat(moved.getResults().get(0).getData().getStatus()).isEqualTo(ProjectTaskStatus.DONE);
+        assertThat(moved.getResults().get(0).getData().getTitle()).isEqualTo("Card 0");
+        assertThat(moved.getResults().get(2).getStatus()).isEqualTo(400);
+        assertThat(moved.getResults().get(3).getStatus()).isEqualTo(404);
+
+        Project counted = projectRepository.findById(projectId).orElseThrow();
+        assertThat(counted.getTaskCount()).isEqualTo(3);
+        assertThat(counted.getCompletedTaskCount()).isEqualTo(1);
+        UserTaskCounter assignee = userTaskCounterRepository.findById(OWNER_ID).orElseThrow();
+        assertThat(assignee.getTodoCount()).isEqualTo(1);
+        assertThat(assignee.getInProgressCount()).isEqualTo(1);
+        assertThat(assignee.getDoneCount()).isEqualTo(1);
+    }
+
+    private static CreateProjectTaskRequest task(String title) {
+        CreateProjectTaskRequest request = new CreateProjectTaskRequest();
+        request.setTitle(title);
+        request.setPriority(ProjectTaskPriority.MEDIUM);
+        request.setAssignedUserId(OWNER_ID);
+        return request;
+    }
+
+    private static BulkProjectTaskStatusRequest status(Long taskId, ProjectTaskStatus status) {
+        BulkProjectTaskStatusRequest request = new BulkProjectTaskStatusRequest();
+        request.setTaskId(taskId);
+        request.setStatus(status);
+        return request;
+    }
+}
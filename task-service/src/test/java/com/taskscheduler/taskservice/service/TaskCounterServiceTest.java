@@ -0,0 +1,109 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.entity.Project;
+import com.taskscheduler.taskservice.entity.ProjectTask;
+import com.taskscheduler.taskservice.entity.UserTaskCounter;
+import com.taskscheduler.taskservice.entity.enums.ProjectTaskStatus;
+import com.taskscheduler.taskservice.repository.CounterUpserts;
+import com.taskscheduler.taskservice.repository.ProjectRepository;
+import com.taskscheduler.taskservice.repository.ProjectTaskRepository;
+import com.taskscheduler.taskservice.repository.UserTaskCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskCounterServiceTest {
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private UserTaskCounterRepository userTaskCounterRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTaskRepository projectTaskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentFirstWritesForOneAssigneeAllCount() throws Exception {
+        long userId = 900_001L;
+        int writers = 8;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    transaction.executeWithoutResult(status -> counterUpserts.addUserTaskCounts(userId, 1, 0, 0));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(userTaskCounterRepository.findById(userId))
+                .get()
+                .extracting(UserTaskCounter::getTodoCount)
+                .isEqualTo((long) writers);
+    }
+
+    @Test
+    void rebuildRepairsCountersWrittenBehindTheServiceBack() {
+        long assigneeId = 900_002L;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long projectId = transaction.execute(status -> {
+            Project project = new Project();
+            project.setName("Drift");
+            project.setOwnerId(assigneeId);
+            project = projectRepository.save(project);
+            for (ProjectTaskStatus taskStatus : List.of(ProjectTaskStatus.TODO, ProjectTaskStatus.DONE, ProjectTaskStatus.DONE)) {
+                ProjectTask task = new ProjectTask();
+                task.setProject(project);
+                task.setTitle("Task " + taskStatus);
+                task.setStatus(taskStatus);
+                task.setAssignedUserId(assigneeId);
+                task.setCreatedByUserId(assigneeId);
+                projectTaskRepository.save(task);
+            }
+            return project.getId();
+        });
+
+        assertThat(taskCounterService.countDrift()).isPositive();
+        assertThat(taskCounterService.rebuild()).isPositive();
+        assertThat(taskCounterService.countDrift()).isZero();
+
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        assertThat(project.getTaskCount()).isEqualTo(3);
+        assertThat(project.getCompletedTaskCount()).isEqualTo(2);
+        UserTaskCounter counter = userTaskCounterRepository.findById(assigneeId).orElseThrow();
+        assertThat(counter.getTodoCount()).isEqualTo(1);
+        assertThat(counter.getDoneCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskscheduler.taskservice.service;
+
+import com.taskscheduler.taskservice.dto.BulkResponse;
+import com.taskscheduler.taskservice.dto.TaskDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServiceBulkTest {
+
+    private static final Long USER_ID = 940_001L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void updateWithoutPriorityOrCategoryDefaultsThemInsteadOfFailingTheBatch() {
+        BulkResponse<TaskDTO> created = taskService.addTasks(List.of(task("First"), task("Second")), USER_ID);
+        Long first = created.getResults().get(0).getId();
+        Long second = created.getResults().get(1).getId();
+
+        TaskDTO omitted = task("First, edited");
+        omitted.setId(first);
+        omitted.setPriority(null);
+        omitted.setCategory(null);
+        TaskDTO blank = task("Second, edited");
+        blank.setId(second);
+        blank.setCategory(" ");
+
+        BulkResponse<TaskDTO> updated = taskService.updateTasks(List.of(omitted, blank), USER_ID);
+
+        assertThat(updated.getSucceeded()).isEqualTo(1);
+        assertThat(updated.getResults().get(0).getData().getPriority()).isEqualTo("Medium");
+        assertThat(updated.getResults().get(0).getData().getCategory()).isEqualTo("Personal");
+        assertThat(updated.getResults().get(1).getStatus()).isEqualTo(400);
+        assertThat(updated.getResults().get(1).getError()).startsWith("category");
+    }
+
+    @Test
+    void oversizedFieldsFailOnlyTheirItem() {
+        TaskDTO tooLong = task("x".repeat(256));
+
+        BulkResponse<TaskDTO> created = taskService.addTasks(List.of(tooLong, task("Fits")), USER_ID);
+
+        assertThat(created.getSucceeded()).isEqualTo(1);
+        assertThat(created.getResults().get(0).getStatus()).isEqualTo(400);
+    }
+
+    private static TaskDTO task(String description) {
+        TaskDTO task = new TaskDTO();
+        task.setDescription(description);
+        task.setStartTime(LocalDateTime.now().plusHours(1));
+        task.setEndTime(LocalDateTime.now().plusHours(2));
+        task.setPriority("High");
+        task.setCategory("Work");
+        return task;
+    }
+}
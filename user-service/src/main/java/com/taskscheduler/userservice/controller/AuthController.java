@@ -6,6 +6,8 @@ import com.taskscheduler.userservice.dto.RegisterRequest;
 import com.taskscheduler.userservice.dto.UserDTO;
 import com.taskscheduler.userservice.service.AuthService;
 import com.taskscheduler.userservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -15,7 +17,9 @@ import org.springframework.web.client.RestTemplate;
 
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -39,6 +43,10 @@ public class AuthController {
     @Value("${oauth.github.client-secret:}")
     private String githubClientSecret;
 
+    // Bounds the IN clause and the response of one /lookup/batch call
+    @Value("${auth.lookup.batch-max-ids:500}")
+    private int batchMaxIds;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
@@ -78,22 +86,14 @@ public class AuthController {
         try {
             if (token != null && token.startsWith("Bearer ")) {
                 String jwt = token.substring(7);
-                if (!authService.validateToken(jwt)) {
+                Claims claims;
+                try {
+                    claims = jwtUtil.parseClaims(jwt);
+                } catch (JwtException | IllegalArgumentException e) {
                     return new ResponseEntity<>("Invalid token", HttpStatus.UNAUTHORIZED);
                 }
-                // Extract directly from JWT claims — survives H2 data loss on redeploy
-                String email = jwtUtil.extractUsername(jwt);
-                Long userId = jwtUtil.extractUserId(jwt);
-                String name = jwtUtil.extractName(jwt);
-                if (name == null || name.isEmpty()) {
-                    try {
-                        UserDTO dbUser = authService.getCurrentUser(email);
-                        name = dbUser.getName();
-                    } catch (Exception ignored) {
-                        name = email.contains("@") ? email.split("@")[0] : email;
-                    }
-                }
-                return new ResponseEntity<>(new UserDTO(userId, name, email), HttpStatus.OK);
+                // Served from the verified claims, no users table lookup in the default mode
+                return new ResponseEntity<>(authService.getUserFromClaims(claims), HttpStatus.OK);
             }
             return new ResponseEntity<>("Invalid token format", HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
@@ -135,6 +135,33 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/lookup/batch")
+    public ResponseEntity<?> getUsersByIds(@RequestBody List<Long> ids, @RequestHeader("Authorization") String token) {
+        try {
+            if (token != null && token.startsWith("Bearer ")) {
+                String jwt = token.substring(7);
+                if (!authService.validateToken(jwt)) {
+                    return new ResponseEntity<>("Invalid token", HttpStatus.UNAUTHORIZED);
+                }
+                List<Long> distinctIds = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+                if (distinctIds.size() > batchMaxIds) {
+                    return new ResponseEntity<>("At most " + batchMaxIds + " distinct ids per lookup", HttpStatus.BAD_REQUEST);
+                }
+                List<UserDTO> users = authService.getUsersByIds(distinctIds);
+                return new ResponseEntity<>(users, HttpStatus.OK);
+            }
+            return new ResponseEntity<>("Invalid token", HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error getting users by id: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Cheap poll target for callers that cache user lookups
+    @GetMapping("/lookup/version")
+    public ResponseEntity<String> getUserDirectoryVersion() {
+        return new ResponseEntity<>(authService.getUserDirectoryVersion(), HttpStatus.OK);
+    }
+
     // Google OAuth - Fixed redirect URI to use API Gateway port
     @GetMapping("/oauth2/authorize/google")
     public void authorizeGoogle(@RequestParam String redirect_uri, HttpServletResponse response) throws IOException {
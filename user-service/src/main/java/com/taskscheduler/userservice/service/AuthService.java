@@ -7,6 +7,7 @@ import com.taskscheduler.userservice.dto.UserDTO;
 import com.taskscheduler.userservice.entity.User;
 import com.taskscheduler.userservice.repository.UserRepository;
 import com.taskscheduler.userservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -33,6 +34,17 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserChangeTracker userChangeTracker;
+
+    // "claims" serves user-info from the token alone; "database" always reads the users table
+    @Value("${auth.user-info.mode:claims}")
+    private String userInfoMode;
+
+    // When enabled, tokens issued before the user's last profile change are answered from the DB
+    @Value("${auth.user-info.check-user-changed:false}")
+    private boolean checkUserChanged;
+
     @Value("${oauth.google.client-id:}")
     private String googleClientId;
 
@@ -92,6 +104,7 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
         User savedUser = userRepository.save(user);
+        userChangeTracker.markCreated();
 
         String token = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getId(), savedUser.getName());
 
@@ -127,6 +140,16 @@ public class AuthService {
         return new UserDTO(user.getId(), user.getName(), user.getEmail());
     }
 
+    public List<UserDTO> getUsersByIds(List<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .map(user -> new UserDTO(user.getId(), user.getName(), user.getEmail()))
+                .toList();
+    }
+
+    public String getUserDirectoryVersion() {
+        return userChangeTracker.getDirectoryVersion();
+    }
+
     public boolean validateToken(String token) {
         return jwtUtil.validateToken(token);
     }
@@ -136,6 +159,27 @@ public class AuthService {
         return getCurrentUser(email);
     }
 
+    // Builds user-info from already verified claims; only touches the DB when configured or when the claims may be stale
+    public UserDTO getUserFromClaims(Claims claims) {
+        String email = jwtUtil.extractUsername(claims);
+        Long userId = jwtUtil.extractUserId(claims);
+        String name = jwtUtil.extractName(claims);
+
+        boolean stale = checkUserChanged && userChangeTracker.changedSince(userId, claims.getIssuedAt());
+        if (stale || "database".equalsIgnoreCase(userInfoMode)) {
+            try {
+                return getCurrentUser(email);
+            } catch (Exception ignored) {
+                // Fall back to the claims — survives H2 data loss on redeploy
+            }
+        }
+
+        if (name == null || name.isEmpty()) {
+            name = email.contains("@") ? email.split("@")[0] : email;
+        }
+        return new UserDTO(userId, name, email);
+    }
+
     // Google OAuth - Fixed redirect URI to match API Gateway
     public AuthResponse processGoogleOAuth(String code) throws Exception {
         // Exchange code for access token
@@ -289,6 +333,11 @@ public class AuthService {
         }
 
         user = userRepository.save(user);
+        if (existingUser.isPresent()) {
+            userChangeTracker.markChanged(user.getId());
+        } else {
+            userChangeTracker.markCreated();
+        }
         String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getName());
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail());
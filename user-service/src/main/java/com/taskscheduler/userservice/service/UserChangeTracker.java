@@ -0,0 +1,51 @@
+package com.taskscheduler.userservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Remembers when a user's profile last changed so tokens issued before that can be refreshed from the DB
+@Component
+public class UserChangeTracker {
+
+    // Epoch seconds, the granularity of a token's iat claim
+    private final Map<Long, Long> changedAtSeconds = new ConcurrentHashMap<>();
+
+    // Restarting changes the prefix, so callers comparing versions also notice a wiped in-memory DB
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final AtomicLong directoryVersion = new AtomicLong();
+
+    @Value("${jwt.expiration:86400000}")
+    private Long expiration;
+
+    public void markCreated() {
+        directoryVersion.incrementAndGet();
+    }
+
+    public void markChanged(Long userId) {
+        directoryVersion.incrementAndGet();
+        long now = System.currentTimeMillis() / 1000;
+        changedAtSeconds.put(userId, now);
+        // A change older than the token lifetime can no longer affect any live token
+        changedAtSeconds.values().removeIf(changedAt -> changedAt < now - expiration / 1000);
+    }
+
+    // Only a change in a later second than iat counts: the token issued right after a change (e.g. OAuth re-link)
+    // shares its second and must not be treated as stale for its whole lifetime. A token issued earlier in that same
+    // second is the one case missed.
+    public boolean changedSince(Long userId, Date issuedAt) {
+        Long changedAt = changedAtSeconds.get(userId);
+        return changedAt != null && (issuedAt == null || changedAt > issuedAt.getTime() / 1000);
+    }
+
+    // Bumped on every user insert or update; task-service polls it to invalidate its user cache
+    public String getDirectoryVersion() {
+        return epoch + ":" + directoryVersion.get();
+    }
+}
@@ -2,6 +2,7 @@ package com.taskscheduler.userservice.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,33 +21,50 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    // The key and parser are immutable and thread-safe, so build them once
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractUsername(parseClaims(token));
+    }
+
+    public String extractUsername(Claims claims) {
+        return claims.getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return extractExpiration(parseClaims(token));
+    }
+
+    public Date extractExpiration(Claims claims) {
+        return claims.getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies signature and expiry once; callers pass the result to the Claims-based extractors
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return extractExpiration(claims).before(new Date());
     }
 
     // Include name in token so user-info can be served without a DB lookup
@@ -68,24 +86,29 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = parseClaims(token);
+        return (extractUsername(claims).equals(username) && !isTokenExpired(claims));
     }
 
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
+        return extractUserId(parseClaims(token));
+    }
+
+    public Long extractUserId(Claims claims) {
+        return claims.get("userId", Long.class);
     }
 
     public String extractName(String token) {
-        return extractClaim(token, claims -> claims.get("name", String.class));
+        return extractName(parseClaims(token));
+    }
+
+    public String extractName(Claims claims) {
+        return claims.get("name", String.class);
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
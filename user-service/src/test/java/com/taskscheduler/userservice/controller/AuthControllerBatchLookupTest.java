@@ -0,0 +1,59 @@
+package com.taskscheduler.userservice.controller;
+
+import com.taskscheduler.userservice.dto.UserDTO;
+import com.taskscheduler.userservice.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthControllerBatchLookupTest {
+
+    private AuthController controller;
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = Mockito.mock(AuthService.class);
+        when(authService.validateToken(anyString())).thenReturn(true);
+        when(authService.getUsersByIds(anyList())).thenReturn(List.of(new UserDTO(1L, "Ada", "ada@example.com")));
+        controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        ReflectionTestUtils.setField(controller, "batchMaxIds", 3);
+    }
+
+    @Test
+    void duplicateAndNullIdsAreDroppedBeforeTheLimit() {
+        List<Long> ids = new ArrayList<>(Arrays.asList(1L, 2L, 1L, null, 3L, 2L));
+
+        ResponseEntity<?> response = controller.getUsersByIds(ids, "Bearer token");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(authService).getUsersByIds(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void tooManyDistinctIdsAreRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, 4).boxed().toList();
+
+        ResponseEntity<?> response = controller.getUsersByIds(ids, "Bearer token");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(authService, never()).getUsersByIds(anyList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskscheduler.userservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserChangeTrackerTest {
+
+    private UserChangeTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new UserChangeTracker();
+        ReflectionTestUtils.setField(tracker, "expiration", 86_400_000L);
+    }
+
+    @Test
+    void tokenIssuedRightAfterChangeIsFresh() {
+        tracker.markChanged(1L);
+        // iat has second granularity, as in a real token
+        Date issuedAt = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+        assertThat(tracker.changedSince(1L, issuedAt)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedBeforeChangeIsStale() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 2000);
+        tracker.markChanged(1L);
+
+        assertThat(tracker.changedSince(1L, issuedAt)).isTrue();
+    }
+
+    @Test
+    void unchangedUserIsFresh() {
+        tracker.markChanged(1L);
+
+        assertThat(tracker.changedSince(2L, new Date(0))).isFalse();
+    }
+}